@@ -0,0 +1,58 @@
+package com.discotots.elysianisles.bench;
+
+import com.mojang.serialization.Lifecycle;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.data.registries.VanillaRegistries;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeGenerationSettings;
+import net.minecraft.world.level.biome.BiomeSpecialEffects;
+import net.minecraft.world.level.biome.Biomes;
+import net.minecraft.world.level.biome.MobSpawnSettings;
+import net.minecraft.world.level.levelgen.NoiseGeneratorSettings;
+import net.minecraft.world.level.levelgen.RandomState;
+
+/**
+ * Shared setup for the benchmarks: the vanilla bootstrap, so blocks and block states exist, and a biome
+ * registry holding a bare plains biome, which is all chunk sections and the generator's biome source need.
+ * Seeded generation also needs a RandomState, built from the vanilla overworld noise settings.
+ */
+final class BenchSupport {
+    private static boolean bootstrapped;
+
+    private BenchSupport() {}
+
+    static synchronized void bootstrap() {
+        if (bootstrapped) return;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        bootstrapped = true;
+    }
+
+    static RandomState randomState(long seed) {
+        return RandomState.create(VanillaRegistries.createLookup().asGetterLookup(), NoiseGeneratorSettings.OVERWORLD, seed);
+    }
+
+    static Registry<Biome> plainsOnly() {
+        Biome plains = new Biome.BiomeBuilder()
+                .hasPrecipitation(false)
+                .temperature(0.5F)
+                .downfall(0.5F)
+                .specialEffects(new BiomeSpecialEffects.Builder()
+                        .fogColor(0xC0D8FF)
+                        .waterColor(0x3F76E4)
+                        .waterFogColor(0x050533)
+                        .skyColor(0x78A7FF)
+                        .build())
+                .mobSpawnSettings(MobSpawnSettings.EMPTY)
+                .generationSettings(BiomeGenerationSettings.EMPTY)
+                .build();
+
+        MappedRegistry<Biome> biomes = new MappedRegistry<>(Registries.BIOME, Lifecycle.stable());
+        Registry.register(biomes, Biomes.PLAINS, plains);
+        return biomes;
+    }
+}
@@ -0,0 +1,164 @@
+package com.discotots.elysianisles.bench;
+
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
+import com.discotots.elysianisles.world.chunk.IslandSettings;
+import com.discotots.elysianisles.world.noise.NoiseMode;
+import com.discotots.elysianisles.world.noise.TrigKernel;
+import net.minecraft.core.Registry;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.Biomes;
+import net.minecraft.world.level.biome.FixedBiomeSource;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ProtoChunk;
+import net.minecraft.world.level.chunk.UpgradeData;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.levelgen.RandomState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The island generator with the default settings: filling whole chunks into a fresh proto chunk, resolving
+ * single columns through getBaseHeight, and building the island raster when the generator is created.
+ * Both noise modes run against a real RandomState, so the seeded path includes its per-block ore rolls and
+ * can be compared with the classic trig path directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IslandGeneratorBenchmark {
+    @Param({"EXACT", "TABLE"})
+    public TrigKernel trig;
+
+    @Param({"CLASSIC", "SEEDED"})
+    public NoiseMode noise;
+
+    private Registry<Biome> biomes;
+    private FixedBiomeSource biomeSource;
+    private RandomState randomState;
+    private IslandChunkGenerator generator;
+    private LevelHeightAccessor heightAccessor;
+    private ChunkPos[] islandChunks;
+    private int sampleRadius;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchSupport.bootstrap();
+        this.biomes = BenchSupport.plainsOnly();
+        this.biomeSource = new FixedBiomeSource(this.biomes.getHolderOrThrow(Biomes.PLAINS));
+        this.randomState = BenchSupport.randomState(42L);
+        this.generator = newGenerator();
+
+        IslandSettings settings = IslandSettings.DEFAULT;
+        this.heightAccessor = LevelHeightAccessor.create(settings.minY(), settings.height());
+
+        // Every chunk within half the island radius of the center, so each fill writes terrain
+        this.sampleRadius = this.generator.getIslandRadius() / 2;
+        int centerChunkX = SectionPos.blockToSectionCoord(settings.centerX());
+        int centerChunkZ = SectionPos.blockToSectionCoord(settings.centerZ());
+        int chunkRadius = SectionPos.blockToSectionCoord(this.sampleRadius);
+        List<ChunkPos> chunks = new ArrayList<>();
+        for (int x = -chunkRadius; x <= chunkRadius; x++) {
+            for (int z = -chunkRadius; z <= chunkRadius; z++) {
+                if (x * x + z * z <= chunkRadius * chunkRadius) {
+                    chunks.add(new ChunkPos(centerChunkX + x, centerChunkZ + z));
+                }
+            }
+        }
+        this.islandChunks = chunks.toArray(new ChunkPos[0]);
+    }
+
+    /**
+     * A generator with its raster built. Seeded mode only builds it once it sees the RandomState, so a single
+     * column query is made to get it there.
+     */
+    private IslandChunkGenerator newGenerator() {
+        IslandChunkGenerator generator = new IslandChunkGenerator(this.biomeSource, this.trig, IslandSettings.DEFAULT,
+                Optional.empty(), this.noise);
+        IslandSettings settings = IslandSettings.DEFAULT;
+        generator.getBaseHeight(settings.centerX(), settings.centerZ(), Heightmap.Types.WORLD_SURFACE_WG,
+                LevelHeightAccessor.create(settings.minY(), settings.height()), this.randomState);
+        return generator;
+    }
+
+    /**
+     * A fresh proto chunk for every fill, cycling through the island chunks.
+     */
+    @State(Scope.Thread)
+    public static class ChunkState {
+        private int cursor;
+        private ChunkAccess chunk;
+
+        @Setup(Level.Invocation)
+        public void freshChunk(IslandGeneratorBenchmark bench) {
+            ChunkPos pos = bench.islandChunks[this.cursor++ % bench.islandChunks.length];
+            this.chunk = new ProtoChunk(pos, UpgradeData.EMPTY, bench.heightAccessor, bench.biomes, null);
+        }
+    }
+
+    /**
+     * Random island columns for getBaseHeight. The larger set does not fit the generator's column cache.
+     */
+    @State(Scope.Thread)
+    public static class ColumnState {
+        @Param({"1024", "65536"})
+        public int columns;
+
+        private int[] columnX;
+        private int[] columnZ;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp(IslandGeneratorBenchmark bench) {
+            IslandSettings settings = IslandSettings.DEFAULT;
+            int radius = bench.sampleRadius;
+            Random random = new Random(42);
+            this.columnX = new int[this.columns];
+            this.columnZ = new int[this.columns];
+            for (int i = 0; i < this.columns; i++) {
+                this.columnX[i] = settings.centerX() + random.nextInt(radius * 2) - radius;
+                this.columnZ[i] = settings.centerZ() + random.nextInt(radius * 2) - radius;
+            }
+        }
+    }
+
+    @Benchmark
+    public ChunkAccess fillChunk(ChunkState state) {
+        return this.generator.fillFromNoise(Runnable::run, null, this.randomState, null, state.chunk).join();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int baseHeight(ColumnState state) {
+        int i = state.cursor++ & (state.columns - 1);
+        return this.generator.getBaseHeight(state.columnX[i], state.columnZ[i], Heightmap.Types.WORLD_SURFACE_WG,
+                this.heightAccessor, this.randomState);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IslandChunkGenerator buildRaster() {
+        return newGenerator();
+    }
+}
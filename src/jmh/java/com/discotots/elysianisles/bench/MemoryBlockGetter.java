@@ -0,0 +1,53 @@
+package com.discotots.elysianisles.bench;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * A block world held in a hash map, everything not set is air. Enough for code that only reads block states.
+ */
+final class MemoryBlockGetter implements BlockGetter {
+    private final Long2ObjectOpenHashMap<BlockState> blocks = new Long2ObjectOpenHashMap<>();
+    private final int minY;
+    private final int height;
+
+    MemoryBlockGetter(int minY, int height) {
+        this.minY = minY;
+        this.height = height;
+        this.blocks.defaultReturnValue(Blocks.AIR.defaultBlockState());
+    }
+
+    void set(BlockPos pos, BlockState state) {
+        this.blocks.put(pos.asLong(), state);
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return this.blocks.get(pos.asLong());
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return this.height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.minY;
+    }
+}
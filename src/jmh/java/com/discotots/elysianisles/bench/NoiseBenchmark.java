@@ -0,0 +1,67 @@
+package com.discotots.elysianisles.bench;
+
+import com.discotots.elysianisles.world.noise.SeededSimplex;
+import com.discotots.elysianisles.world.noise.TrigKernel;
+import net.minecraft.util.RandomSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The noise primitives the island shape is built from: the classic trig waves with either kernel, and the
+ * seeded simplex noise used in seeded mode. These are single samples; the whole seeded chunk fill, ore rolls
+ * included, is compared with the classic one in IslandGeneratorBenchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoiseBenchmark {
+    private SeededSimplex simplex;
+    private double x;
+    private double z;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.simplex = new SeededSimplex(RandomSource.create(42));
+    }
+
+    private void step() {
+        this.x += 1.37;
+        this.z += 0.91;
+        if (this.x > 10000) {
+            this.x = 0;
+            this.z = 0;
+        }
+    }
+
+    @Benchmark
+    public double exactWaves() {
+        step();
+        return TrigKernel.EXACT.sin(this.x * 0.08) * TrigKernel.EXACT.cos(this.z * 0.07);
+    }
+
+    @Benchmark
+    public double tableWaves() {
+        step();
+        return TrigKernel.TABLE.sin(this.x * 0.08) * TrigKernel.TABLE.cos(this.z * 0.07);
+    }
+
+    @Benchmark
+    public double seededSimplex() {
+        step();
+        return this.simplex.sample(this.x * 0.02, this.z * 0.02);
+    }
+}
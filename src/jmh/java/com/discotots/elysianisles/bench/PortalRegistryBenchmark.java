@@ -0,0 +1,105 @@
+package com.discotots.elysianisles.bench;
+
+import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.world.portal.PortalRecord;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The portal registry lookups that replaced the old flood fills: resolving a broken block through the frame
+ * index (a frame block, or the far more common miss), walking the interior of the portal found that way,
+ * and the nearest-portal search the teleporter starts with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortalRegistryBenchmark {
+    private static final ResourceKey<net.minecraft.world.level.Level> DIMENSION =
+            ResourceKey.create(Registries.DIMENSION, new ResourceLocation("elysianisles", "benchmark"));
+    private static final int SAMPLES = 4096;
+    private static final int SPREAD = 20000;
+
+    @Param({"100", "10000"})
+    public int portals;
+
+    private PortalManager manager;
+    private BlockPos[] frameBlocks;
+    private BlockPos[] otherBlocks;
+    private BlockPos[] searchCenters;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchSupport.bootstrap();
+        this.manager = new PortalManager();
+        Random random = new Random(42);
+
+        PortalRecord[] registered = new PortalRecord[this.portals];
+        for (int i = 0; i < this.portals; i++) {
+            BlockPos bottomLeft = new BlockPos(random.nextInt(SPREAD * 2) - SPREAD, 64 + random.nextInt(64), random.nextInt(SPREAD * 2) - SPREAD);
+            Direction.Axis axis = random.nextBoolean() ? Direction.Axis.X : Direction.Axis.Z;
+            registered[i] = this.manager.registerPortal(DIMENSION, bottomLeft, axis, 2 + random.nextInt(3), 3 + random.nextInt(3));
+        }
+
+        this.frameBlocks = new BlockPos[SAMPLES];
+        this.otherBlocks = new BlockPos[SAMPLES];
+        this.searchCenters = new BlockPos[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            // The bottom-left corner of the frame, one below and one to the left of the interior
+            PortalRecord portal = registered[random.nextInt(this.portals)];
+            this.frameBlocks[i] = portal.getBottomLeft().below().relative(portal.getRightDirection().getOpposite());
+            this.otherBlocks[i] = new BlockPos(random.nextInt(SPREAD * 2) - SPREAD, random.nextInt(256), random.nextInt(SPREAD * 2) - SPREAD);
+            this.searchCenters[i] = new BlockPos(random.nextInt(SPREAD * 2) - SPREAD, 90, random.nextInt(SPREAD * 2) - SPREAD);
+        }
+    }
+
+    private int next() {
+        return this.cursor++ & (SAMPLES - 1);
+    }
+
+    @Benchmark
+    public PortalRecord frameHit() {
+        return this.manager.getPortalByFrame(DIMENSION, this.frameBlocks[next()]);
+    }
+
+    @Benchmark
+    public PortalRecord frameMiss() {
+        return this.manager.getPortalByFrame(DIMENSION, this.otherBlocks[next()]);
+    }
+
+    @Benchmark
+    public long frameHitAndInterior() {
+        PortalRecord portal = this.manager.getPortalByFrame(DIMENSION, this.frameBlocks[next()]);
+        long sum = 0;
+        for (BlockPos pos : portal.getInteriorPositions()) {
+            sum += pos.asLong();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public PortalRecord nearestPortal() {
+        return this.manager.findNearestPortal(DIMENSION, this.searchCenters[next()], 128, false);
+    }
+}
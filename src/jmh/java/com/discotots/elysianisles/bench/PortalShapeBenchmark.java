@@ -0,0 +1,121 @@
+package com.discotots.elysianisles.bench;
+
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portal shape detection on empty smooth stone frames of every valid size, 2x3 up to 21x21, the way
+ * ignition and the shape cache run it: starting from a block inside the frame.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortalShapeBenchmark {
+    private static final int MIN_WIDTH = 2;
+    private static final int MAX_WIDTH = 21;
+    private static final int MIN_HEIGHT = 3;
+    private static final int MAX_HEIGHT = 21;
+    private static final int FRAME_COUNT = (MAX_WIDTH - MIN_WIDTH + 1) * (MAX_HEIGHT - MIN_HEIGHT + 1);
+    private static final int SPACING = 32;
+    private static final int BASE_Y = 64;
+
+    private MemoryBlockGetter level;
+    private BlockPos[] allStarts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchSupport.bootstrap();
+        this.level = new MemoryBlockGetter(0, 256);
+
+        List<BlockPos> starts = new ArrayList<>(FRAME_COUNT);
+        int origin = 0;
+        for (int width = MIN_WIDTH; width <= MAX_WIDTH; width++) {
+            for (int height = MIN_HEIGHT; height <= MAX_HEIGHT; height++) {
+                BlockPos bottomLeft = new BlockPos(origin, BASE_Y, 0);
+                buildFrame(bottomLeft, width, height);
+                starts.add(bottomLeft.east(width / 2).above(height / 2));
+                origin += SPACING;
+            }
+        }
+        this.allStarts = starts.toArray(new BlockPos[0]);
+
+        // Every frame has to be detected at its full size, or the numbers mean nothing
+        for (int i = 0; i < this.allStarts.length; i++) {
+            PsionicPortalShape shape = new PsionicPortalShape(this.level, this.allStarts[i], Direction.Axis.X);
+            if (!shape.isValid()) {
+                throw new IllegalStateException("Frame " + i + " at " + this.allStarts[i] + " was not detected");
+            }
+        }
+    }
+
+    /**
+     * A smooth stone ring around an empty width x height interior along the X axis, bottomLeft being the
+     * lowest, westmost interior block.
+     */
+    private void buildFrame(BlockPos bottomLeft, int width, int height) {
+        BlockState frame = Blocks.SMOOTH_STONE.defaultBlockState();
+        for (int w = -1; w <= width; w++) {
+            for (int h = -1; h <= height; h++) {
+                if (w == -1 || w == width || h == -1 || h == height) {
+                    this.level.set(bottomLeft.east(w).above(h), frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * A few sizes on their own, for the cost curve. detectAll covers every size.
+     */
+    @State(Scope.Thread)
+    public static class SizeState {
+        @Param({"2x3", "4x5", "10x10", "21x21"})
+        public String size;
+
+        private BlockPos start;
+
+        @Setup(Level.Trial)
+        public void setUp(PortalShapeBenchmark bench) {
+            String[] dimensions = this.size.split("x");
+            int width = Integer.parseInt(dimensions[0]);
+            int height = Integer.parseInt(dimensions[1]);
+            this.start = bench.allStarts[(width - MIN_WIDTH) * (MAX_HEIGHT - MIN_HEIGHT + 1) + (height - MIN_HEIGHT)];
+        }
+    }
+
+    @Benchmark
+    public PsionicPortalShape detect(SizeState state) {
+        return new PsionicPortalShape(this.level, state.start, Direction.Axis.X);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FRAME_COUNT)
+    public void detectAll(Blackhole blackhole) {
+        for (BlockPos pos : this.allStarts) {
+            blackhole.consume(new PsionicPortalShape(this.level, pos, Direction.Axis.X));
+        }
+    }
+}
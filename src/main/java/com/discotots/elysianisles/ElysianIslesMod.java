@@ -1,16 +1,23 @@
 package com.discotots.elysianisles;
 
+import com.discotots.elysianisles.command.ElysianCommand;
 import com.discotots.elysianisles.event.FrameBreakListener;
+import com.discotots.elysianisles.event.MetricsHandler;
 import com.discotots.elysianisles.event.PlayerSpawnHandler;
-import com.discotots.elysianisles.event.PortalEffectsHandler;
 import com.discotots.elysianisles.event.PortalIgnitionHandler;
 import com.discotots.elysianisles.event.PortalProtectionHandler;
+import com.discotots.elysianisles.event.PortalShapeCacheHandler;
+import com.discotots.elysianisles.event.PortalTravelHandler;
+import com.discotots.elysianisles.event.PregenHandler;
 import com.discotots.elysianisles.init.ModBlocks;
 import com.discotots.elysianisles.init.ModDimensions;
 import com.discotots.elysianisles.init.ModItems;
+import com.discotots.elysianisles.init.ModPoiTypes;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
@@ -29,6 +36,7 @@ public class ElysianIslesMod {
         // Register mod content
         ModBlocks.register(modEventBus);
         ModItems.register(modEventBus);
+        ModPoiTypes.register(modEventBus);
         ModDimensions.register(modEventBus);
 
         // Setup events
@@ -41,7 +49,10 @@ public class ElysianIslesMod {
         MinecraftForge.EVENT_BUS.register(new FrameBreakListener());
         MinecraftForge.EVENT_BUS.register(new PortalProtectionHandler());
         MinecraftForge.EVENT_BUS.register(new PlayerSpawnHandler());
-        // MinecraftForge.EVENT_BUS.register(new PortalEffectsHandler()); // FIXED: Disabled redundant handler
+        MinecraftForge.EVENT_BUS.register(new PregenHandler());
+        MinecraftForge.EVENT_BUS.register(new PortalTravelHandler());
+        MinecraftForge.EVENT_BUS.register(new PortalShapeCacheHandler());
+        MinecraftForge.EVENT_BUS.register(new MetricsHandler());
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
@@ -52,6 +63,11 @@ public class ElysianIslesMod {
         LOGGER.info("Elysian Isles - Client setup complete");
     }
 
+    @SubscribeEvent
+    public void onRegisterCommands(RegisterCommandsEvent event) {
+        ElysianCommand.register(event.getDispatcher());
+    }
+
     public static ResourceLocation modLoc(String name) {
         return new ResourceLocation(MOD_ID, name);
     }
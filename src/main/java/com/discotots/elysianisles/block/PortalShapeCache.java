@@ -0,0 +1,107 @@
+package com.discotots.elysianisles.block;
+
+import com.discotots.elysianisles.debug.Metrics;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validated portal shapes, looked up by any of their portal blocks.
+ * A shape stays cached until a block inside its frame bounds changes, so an entity standing in a known portal
+ * costs a single map lookup instead of walking the frame again.
+ */
+public class PortalShapeCache {
+    private static final Map<ResourceKey<Level>, LevelShapes> levels = new HashMap<>();
+
+    private static class LevelShapes {
+        // Every interior block of every cached shape
+        final Long2ObjectOpenHashMap<PsionicPortalShape> byBlock = new Long2ObjectOpenHashMap<>();
+        // Cached shapes per chunk their bounds overlap, so invalidation only looks at nearby shapes
+        final Long2ObjectOpenHashMap<List<PsionicPortalShape>> byChunk = new Long2ObjectOpenHashMap<>();
+    }
+
+    /**
+     * The valid portal shape containing the given portal block, or null when there is no valid portal there.
+     */
+    public static PsionicPortalShape get(Level level, BlockPos pos, Direction.Axis axis) {
+        LevelShapes shapes = levels.computeIfAbsent(level.dimension(), key -> new LevelShapes());
+        PsionicPortalShape shape = shapes.byBlock.get(pos.asLong());
+        if (shape != null && shape.getAxis() == axis) {
+            Metrics.SHAPE_CACHE_HITS.increment();
+            return shape;
+        }
+
+        Metrics.SHAPE_CACHE_MISSES.increment();
+        shape = new PsionicPortalShape(level, pos, axis);
+        if (!shape.isValid()) {
+            return null;
+        }
+        put(shapes, shape);
+        return shape;
+    }
+
+    private static void put(LevelShapes shapes, PsionicPortalShape shape) {
+        for (BlockPos interior : shape.getInteriorPositions()) {
+            shapes.byBlock.put(interior.asLong(), shape);
+        }
+
+        BoundingBox bounds = shape.getFrameBounds();
+        for (int chunkX = SectionPos.blockToSectionCoord(bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(bounds.maxZ()); chunkZ++) {
+                shapes.byChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), key -> new ArrayList<>(1)).add(shape);
+            }
+        }
+    }
+
+    /**
+     * Drops every cached shape whose frame bounds contain the changed block.
+     */
+    public static void invalidate(Level level, BlockPos pos) {
+        LevelShapes shapes = levels.get(level.dimension());
+        if (shapes == null) return;
+
+        List<PsionicPortalShape> nearby = shapes.byChunk.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (nearby == null) return;
+
+        for (PsionicPortalShape shape : List.copyOf(nearby)) {
+            if (shape.getFrameBounds().isInside(pos)) {
+                remove(shapes, shape);
+            }
+        }
+    }
+
+    private static void remove(LevelShapes shapes, PsionicPortalShape shape) {
+        for (BlockPos interior : shape.getInteriorPositions()) {
+            shapes.byBlock.remove(interior.asLong(), shape);
+        }
+
+        BoundingBox bounds = shape.getFrameBounds();
+        for (int chunkX = SectionPos.blockToSectionCoord(bounds.minX()); chunkX <= SectionPos.blockToSectionCoord(bounds.maxX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(bounds.minZ()); chunkZ <= SectionPos.blockToSectionCoord(bounds.maxZ()); chunkZ++) {
+                long key = ChunkPos.asLong(chunkX, chunkZ);
+                List<PsionicPortalShape> list = shapes.byChunk.get(key);
+                if (list != null && list.remove(shape) && list.isEmpty()) {
+                    shapes.byChunk.remove(key);
+                }
+            }
+        }
+    }
+
+    public static void clear(ResourceKey<Level> dimension) {
+        levels.remove(dimension);
+    }
+
+    public static void clearAll() {
+        levels.clear();
+    }
+}
@@ -1,8 +1,12 @@
 package com.discotots.elysianisles.block;
 
 import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
 import com.discotots.elysianisles.init.ModDimensions;
-import com.discotots.elysianisles.world.portal.PortalTeleporter;
+import com.discotots.elysianisles.world.portal.PendingTeleports;
+import com.discotots.elysianisles.world.portal.PortalCooldowns;
+import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.world.portal.PortalRecord;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
@@ -39,8 +43,7 @@ public class PsionicPortalBlock extends Block {
     protected static final VoxelShape X_AABB = Block.box(0.0D, 0.0D, 6.0D, 16.0D, 16.0D, 10.0D);
     protected static final VoxelShape Z_AABB = Block.box(6.0D, 0.0D, 0.0D, 10.0D, 16.0D, 16.0D);
 
-    private static final String PORTAL_COOLDOWN_TAG = "elysian_portal_cooldown";
-    private static final int PORTAL_COOLDOWN_TIME = 20; // 1 second cooldown
+    private static final String LEGACY_COOLDOWN_TAG = "elysian_portal_cooldown";
 
     public PsionicPortalBlock(Properties properties) {
         super(properties);
@@ -70,19 +73,28 @@ public class PsionicPortalBlock extends Block {
 
     @Override
     public void entityInside(BlockState state, Level level, BlockPos pos, Entity entity) {
-        // Handle instant teleportation when entity enters portal
-        if (!level.isClientSide() && entity instanceof ServerPlayer player) {
+        // Handle teleportation when an entity enters the portal, riders travel with their vehicle (PendingTeleports seats them again)
+        if (!level.isClientSide() && entity.canChangeDimensions()
+                && (entity instanceof ServerPlayer || !entity.isPassenger())) {
             // Check cooldown to prevent rapid teleportation
-            int cooldown = player.getPersistentData().getInt(PORTAL_COOLDOWN_TAG);
-            if (cooldown > 0) {
+            if (PendingTeleports.isPending(entity) || PortalCooldowns.checkAndRefresh(entity)) {
                 return;
             }
 
-            ElysianIslesMod.LOGGER.info("Player {} entered portal block at {}, initiating teleport",
-                    player.getName().getString(), pos);
+            if (entity instanceof ServerPlayer player) {
+                // Cooldowns used to live in the player's persistent data, drop the leftover tag
+                if (player.getPersistentData().contains(LEGACY_COOLDOWN_TAG)) {
+                    player.getPersistentData().remove(LEGACY_COOLDOWN_TAG);
+                }
+
+                if (Diagnostics.TRAVEL.isEnabled()) {
+                    Diagnostics.TRAVEL.log("Player {} entered portal block at {}, initiating teleport",
+                            player.getName().getString(), pos);
+                }
+            }
 
             // Set cooldown
-            player.getPersistentData().putInt(PORTAL_COOLDOWN_TAG, PORTAL_COOLDOWN_TIME);
+            PortalCooldowns.start(entity);
 
             // Determine destination
             ServerLevel currentLevel = (ServerLevel) level;
@@ -93,23 +105,28 @@ public class PsionicPortalBlock extends Block {
             ServerLevel destinationLevel = currentLevel.getServer().getLevel(destinationKey);
 
             if (destinationLevel != null) {
-                // Create portal shape to get dimensions
-                PsionicPortalShape shape = new PsionicPortalShape(level, pos, state.getValue(AXIS));
-
-                if (shape.isValid()) {
-                    // Play teleportation sound
-                    level.playSound(null, pos, SoundEvents.PORTAL_TRAVEL, SoundSource.PLAYERS, 0.5F, 1.0F);
-
-                    // Teleport the player
-                    player.changeDimension(destinationLevel,
-                            new PortalTeleporter(destinationLevel, shape.getAxis(), shape.getWidth(), shape.getHeight()));
-
-                    ElysianIslesMod.LOGGER.info("Successfully teleported {} from {} to {}",
-                            player.getName().getString(),
-                            currentLevel.dimension().location(),
-                            destinationLevel.dimension().location());
+                // Look up the portal shape to get dimensions, validated shapes are cached
+                PsionicPortalShape shape = PortalShapeCache.get(level, pos, state.getValue(AXIS));
+
+                if (shape != null) {
+                    // Portals from before the registry are registered on first use
+                    PortalManager portalManager = PortalManager.get(currentLevel);
+                    PortalRecord source = portalManager.getPortal(currentLevel.dimension(), shape.getBottomLeft());
+                    if (source == null || source.getWidth() != shape.getWidth() || source.getHeight() != shape.getHeight()) {
+                        source = portalManager.registerPortal(currentLevel.dimension(), shape.getBottomLeft(),
+                                shape.getAxis(), shape.getWidth(), shape.getHeight());
+                    }
+
+                    if (entity instanceof ServerPlayer) {
+                        // Play teleportation sound
+                        level.playSound(null, pos, SoundEvents.PORTAL_TRAVEL, SoundSource.PLAYERS, 0.5F, 1.0F);
+                    }
+
+                    // Teleport the entity once the destination chunks are loaded, together with
+                    // everything else entering this portal in the meantime
+                    PendingTeleports.schedule(entity, destinationLevel, source, shape.getAxis(), shape.getWidth(), shape.getHeight());
                 } else {
-                    ElysianIslesMod.LOGGER.warn("Portal shape invalid for teleportation");
+                    Diagnostics.TRAVEL.log("Portal shape invalid for teleportation at {}", pos);
                 }
             } else {
                 ElysianIslesMod.LOGGER.error("Destination level not found!");
@@ -1,15 +1,21 @@
 package com.discotots.elysianisles.block;
 
-import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.debug.Metrics;
 import com.discotots.elysianisles.init.ModBlocks;
+import com.discotots.elysianisles.world.portal.BlockBatch;
+import com.discotots.elysianisles.world.portal.PortalManager;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.LevelAccessor;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
 
 public class PsionicPortalShape {
-    private final LevelAccessor level;
+    private final BlockGetter level;
     private final Direction.Axis axis;
     private final Direction rightDir;
     private int portalBlockCount;
@@ -22,79 +28,95 @@ public class PsionicPortalShape {
     private static final int MIN_PORTAL_HEIGHT = 3;
     private static final int MAX_PORTAL_HEIGHT = 21;
 
-    public PsionicPortalShape(LevelAccessor level, BlockPos pos, Direction.Axis axis) {
-        ElysianIslesMod.LOGGER.info("Creating PsionicPortalShape at {} with axis {}", pos, axis);
+    public PsionicPortalShape(BlockGetter level, BlockPos pos, Direction.Axis axis) {
+        long start = System.nanoTime();
+        Diagnostics.SHAPE.log("Creating PsionicPortalShape at {} with axis {}", pos, axis);
 
         this.level = level;
         this.axis = axis;
         this.rightDir = (axis == Direction.Axis.X) ? Direction.EAST : Direction.SOUTH;
 
-        ElysianIslesMod.LOGGER.info("Right direction for axis {} is {}", axis, rightDir);
+        Diagnostics.SHAPE.log("Right direction for axis {} is {}", axis, rightDir);
 
         this.bottomLeft = this.calculateBottomLeft(pos);
         if (this.bottomLeft == null) {
-            ElysianIslesMod.LOGGER.info("calculateBottomLeft returned null, using fallback");
+            Diagnostics.SHAPE.log("calculateBottomLeft returned null, using fallback");
             this.bottomLeft = pos;
             this.width = 1;
             this.height = 1;
         } else {
-            ElysianIslesMod.LOGGER.info("Found bottom left at {}", this.bottomLeft);
+            Diagnostics.SHAPE.log("Found bottom left at {}", this.bottomLeft);
             this.width = this.calculateWidth();
-            ElysianIslesMod.LOGGER.info("Calculated width: {}", this.width);
+            if (Diagnostics.SHAPE.isEnabled()) {
+                Diagnostics.SHAPE.log("Calculated width: {}", this.width);
+            }
             if (this.width > 0) {
                 this.height = this.calculateHeight();
-                ElysianIslesMod.LOGGER.info("Calculated height: {}", this.height);
+                if (Diagnostics.SHAPE.isEnabled()) {
+                    Diagnostics.SHAPE.log("Calculated height: {}", this.height);
+                }
             } else {
                 this.height = 0;
-                ElysianIslesMod.LOGGER.info("Width is 0, setting height to 0");
+                Diagnostics.SHAPE.log("Width is 0, setting height to 0");
             }
         }
 
-        ElysianIslesMod.LOGGER.info("Final portal shape: {}x{} at {}, valid: {}",
-                this.width, this.height, this.bottomLeft, isValid());
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Final portal shape: {}x{} at {}, valid: {}",
+                    this.width, this.height, this.bottomLeft, isValid());
+        }
+        Metrics.SHAPE_VALIDATION.recordSince(start);
     }
 
     private BlockPos calculateBottomLeft(BlockPos pos) {
-        ElysianIslesMod.LOGGER.info("calculateBottomLeft starting from {}", pos);
+        Diagnostics.SHAPE.log("calculateBottomLeft starting from {}", pos);
 
         int i = Math.max(this.level.getMinBuildHeight(), pos.getY() - MAX_PORTAL_HEIGHT);
-        ElysianIslesMod.LOGGER.info("Minimum Y to check: {}", i);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Minimum Y to check: {}", i);
+        }
 
         // Move down to find the bottom of the portal opening
         while(pos.getY() > i && isEmpty(this.level.getBlockState(pos.below()))) {
             pos = pos.below();
-            ElysianIslesMod.LOGGER.info("Moving down to {}", pos);
+            Diagnostics.SHAPE.log("Moving down to {}", pos);
         }
 
-        ElysianIslesMod.LOGGER.info("Found bottom level at Y={}", pos.getY());
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Found bottom level at Y={}", pos.getY());
+        }
 
         Direction searchDir = rightDir.getOpposite();
-        ElysianIslesMod.LOGGER.info("Searching left in direction {}", searchDir);
+        Diagnostics.SHAPE.log("Searching left in direction {}", searchDir);
 
         int distanceToLeft = this.getDistanceUntilEdge(pos, searchDir) - 1;
-        ElysianIslesMod.LOGGER.info("Distance to left edge: {}", distanceToLeft);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Distance to left edge: {}", distanceToLeft);
+        }
 
         if(distanceToLeft < 0) {
-            ElysianIslesMod.LOGGER.info("Distance to left is negative, returning null");
+            Diagnostics.SHAPE.log("Distance to left is negative, returning null");
             return null;
         }
 
         BlockPos result = pos.relative(searchDir, distanceToLeft);
-        ElysianIslesMod.LOGGER.info("Bottom left calculated as: {}", result);
+        Diagnostics.SHAPE.log("Bottom left calculated as: {}", result);
         return result;
     }
 
     private int calculateWidth() {
-        ElysianIslesMod.LOGGER.info("calculateWidth from {}", this.bottomLeft);
+        Diagnostics.SHAPE.log("calculateWidth from {}", this.bottomLeft);
         int i = this.getDistanceUntilEdge(this.bottomLeft, this.rightDir);
-        ElysianIslesMod.LOGGER.info("Distance until right edge: {}", i);
         boolean validWidth = i >= MIN_PORTAL_WIDTH && i <= MAX_PORTAL_WIDTH;
-        ElysianIslesMod.LOGGER.info("Width {} is valid: {}", i, validWidth);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Distance until right edge: {}", i);
+            Diagnostics.SHAPE.log("Width {} is valid: {}", i, validWidth);
+        }
         return validWidth ? i : 0;
     }
 
     private int getDistanceUntilEdge(BlockPos pos, Direction direction) {
-        ElysianIslesMod.LOGGER.info("getDistanceUntilEdge from {} in direction {}", pos, direction);
+        Diagnostics.SHAPE.log("getDistanceUntilEdge from {} in direction {}", pos, direction);
         BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
 
         for(int i = 0; i <= MAX_PORTAL_WIDTH; ++i) {
@@ -103,32 +125,40 @@ public class PsionicPortalShape {
             BlockState blockBelow = this.level.getBlockState(mutablePos.move(Direction.DOWN));
 
             if (i == 0) {
-                ElysianIslesMod.LOGGER.info("At distance {}: block = {}, below = {}",
+                Diagnostics.SHAPE.log("At distance {}: block = {}, below = {}",
                         i, blockAtPos.getBlock(), blockBelow.getBlock());
             }
 
             if (!this.isEmpty(blockAtPos)) {
-                ElysianIslesMod.LOGGER.info("Hit non-empty block at distance {}: {}", i, blockAtPos.getBlock());
+                if (Diagnostics.SHAPE.isEnabled()) {
+                    Diagnostics.SHAPE.log("Hit non-empty block at distance {}: {}", i, blockAtPos.getBlock());
+                }
                 return i;
             }
 
             mutablePos.move(Direction.UP); // Move back up after checking below
             if (!blockBelow.is(Blocks.SMOOTH_STONE)) {
-                ElysianIslesMod.LOGGER.info("Missing smooth stone base at distance {}, found: {}", i, blockBelow.getBlock());
+                if (Diagnostics.SHAPE.isEnabled()) {
+                    Diagnostics.SHAPE.log("Missing smooth stone base at distance {}, found: {}", i, blockBelow.getBlock());
+                }
                 return i;
             }
         }
-        ElysianIslesMod.LOGGER.info("Reached maximum width without finding edge");
+        Diagnostics.SHAPE.log("Reached maximum width without finding edge");
         return 0;
     }
 
     private int calculateHeight() {
-        ElysianIslesMod.LOGGER.info("calculateHeight for width {}", this.width);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("calculateHeight for width {}", this.width);
+        }
         BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
         int i = this.getDistanceUntilTop(mutablePos);
-        ElysianIslesMod.LOGGER.info("Distance until top: {}", i);
         boolean validHeight = i >= MIN_PORTAL_HEIGHT && i <= MAX_PORTAL_HEIGHT;
-        ElysianIslesMod.LOGGER.info("Height {} is valid: {}", i, validHeight);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Distance until top: {}", i);
+            Diagnostics.SHAPE.log("Height {} is valid: {}", i, validHeight);
+        }
         return validHeight ? i : 0;
     }
 
@@ -140,13 +170,15 @@ public class PsionicPortalShape {
             BlockState leftFrameState = this.level.getBlockState(leftFrame);
             BlockState rightFrameState = this.level.getBlockState(rightFrame);
 
-            if (i < 3) { // Log first few iterations
-                ElysianIslesMod.LOGGER.info("Height {}: left frame at {} = {}, right frame at {} = {}",
+            if (i < 3 && Diagnostics.SHAPE.isEnabled()) { // Log first few iterations
+                Diagnostics.SHAPE.log("Height {}: left frame at {} = {}, right frame at {} = {}",
                         i, leftFrame, leftFrameState.getBlock(), rightFrame, rightFrameState.getBlock());
             }
 
             if (!leftFrameState.is(Blocks.SMOOTH_STONE) || !rightFrameState.is(Blocks.SMOOTH_STONE)) {
-                ElysianIslesMod.LOGGER.info("Missing frame at height {}", i);
+                if (Diagnostics.SHAPE.isEnabled()) {
+                    Diagnostics.SHAPE.log("Missing frame at height {}", i);
+                }
                 return i;
             }
 
@@ -156,17 +188,17 @@ public class PsionicPortalShape {
                 BlockState interiorState = this.level.getBlockState(interiorPos);
 
                 if (!this.isEmpty(interiorState)) {
-                    ElysianIslesMod.LOGGER.info("Interior not empty at {}: {}", interiorPos, interiorState.getBlock());
+                    Diagnostics.SHAPE.log("Interior not empty at {}: {}", interiorPos, interiorState.getBlock());
                     return i;
                 }
             }
         }
-        ElysianIslesMod.LOGGER.info("Reached maximum height");
+        Diagnostics.SHAPE.log("Reached maximum height");
         return MAX_PORTAL_HEIGHT;
     }
 
     private boolean isEmpty(BlockState state) {
-        boolean empty = state.isAir() || state.is(ModBlocks.PSIONIC_PORTAL.get());
+        boolean empty = state.isAir() || state.getBlock() instanceof PsionicPortalBlock;
         return empty;
     }
 
@@ -174,19 +206,31 @@ public class PsionicPortalShape {
         boolean valid = this.bottomLeft != null &&
                 this.width >= MIN_PORTAL_WIDTH && this.width <= MAX_PORTAL_WIDTH &&
                 this.height >= MIN_PORTAL_HEIGHT && this.height <= MAX_PORTAL_HEIGHT;
-        ElysianIslesMod.LOGGER.info("Portal shape isValid: {} (bottomLeft: {}, width: {}, height: {})",
-                valid, this.bottomLeft, this.width, this.height);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Portal shape isValid: {} (bottomLeft: {}, width: {}, height: {})",
+                    valid, this.bottomLeft, this.width, this.height);
+        }
         return valid;
     }
 
     public void createPortalBlocks() {
-        ElysianIslesMod.LOGGER.info("Creating portal blocks for {}x{} portal", this.width, this.height);
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Creating portal blocks for {}x{} portal", this.width, this.height);
+        }
         BlockState portalState = ModBlocks.PSIONIC_PORTAL.get().defaultBlockState().setValue(PsionicPortalBlock.AXIS, this.axis);
-        BlockPos.betweenClosed(this.bottomLeft, this.bottomLeft.relative(Direction.UP, this.height - 1).relative(this.rightDir, this.width - 1))
-                .forEach(pos -> {
-                    ElysianIslesMod.LOGGER.info("Setting portal block at {}", pos);
-                    this.level.setBlock(pos, portalState, 18);
-                });
+        if (!(this.level instanceof LevelAccessor levelAccessor)) {
+            throw new IllegalStateException("Portal blocks can only be created in a level");
+        }
+        BlockBatch batch = new BlockBatch(levelAccessor);
+        getInteriorPositions().forEach(pos -> batch.set(pos, portalState));
+        int placed = batch.apply();
+        if (Diagnostics.SHAPE.isEnabled()) {
+            Diagnostics.SHAPE.log("Placed {} portal blocks", placed);
+        }
+
+        if (this.level instanceof ServerLevel serverLevel) {
+            PortalManager.get(serverLevel).registerPortal(serverLevel.dimension(), this.bottomLeft, this.axis, this.width, this.height);
+        }
     }
 
     public Direction.Axis getAxis() {
@@ -204,4 +248,21 @@ public class PsionicPortalShape {
     public BlockPos getBottomLeft() {
         return this.bottomLeft;
     }
+
+    /**
+     * Everything the shape was validated against: the interior, the side frames and the row of base blocks below.
+     * Only valid shapes have meaningful bounds.
+     */
+    public BoundingBox getFrameBounds() {
+        return BoundingBox.fromCorners(
+                this.bottomLeft.relative(this.rightDir.getOpposite()).below(),
+                this.bottomLeft.relative(this.rightDir, this.width).above(this.height));
+    }
+
+    /**
+     * Every portal block position of the interior.
+     */
+    public Iterable<BlockPos> getInteriorPositions() {
+        return BlockPos.betweenClosed(this.bottomLeft, this.bottomLeft.relative(Direction.UP, this.height - 1).relative(this.rightDir, this.width - 1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.discotots.elysianisles.command;
+
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.debug.Metrics;
+import com.discotots.elysianisles.init.ModDimensions;
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
+import com.discotots.elysianisles.world.pregen.IslandPregenerator;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+
+/**
+ * Server admin commands under /elysian.
+ */
+public class ElysianCommand {
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("elysian")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.literal("pregen")
+                        .then(Commands.literal("start")
+                                .executes(context -> startPregen(context.getSource(), -1))
+                                .then(Commands.argument("radius", IntegerArgumentType.integer(16, 4096))
+                                        .executes(context -> startPregen(context.getSource(),
+                                                IntegerArgumentType.getInteger(context, "radius")))))
+                        .then(Commands.literal("stop")
+                                .executes(context -> stopPregen(context.getSource())))
+                        .then(Commands.literal("status")
+                                .executes(context -> pregenStatus(context.getSource()))))
+                .then(buildDebug())
+                .then(Commands.literal("stats")
+                        .executes(context -> stats(context.getSource()))));
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> buildDebug() {
+        LiteralArgumentBuilder<CommandSourceStack> debug = Commands.literal("debug")
+                .executes(context -> debugStatus(context.getSource()));
+        debug.then(Commands.literal("all")
+                .then(Commands.literal("on").executes(context -> setDebug(context.getSource(), Diagnostics.values(), true)))
+                .then(Commands.literal("off").executes(context -> setDebug(context.getSource(), Diagnostics.values(), false))));
+        for (Diagnostics category : Diagnostics.values()) {
+            Diagnostics[] only = {category};
+            debug.then(Commands.literal(category.getSerializedName())
+                    .then(Commands.literal("on").executes(context -> setDebug(context.getSource(), only, true)))
+                    .then(Commands.literal("off").executes(context -> setDebug(context.getSource(), only, false))));
+        }
+        return debug;
+    }
+
+    private static int startPregen(CommandSourceStack source, int radius) {
+        ServerLevel skyLevel = source.getServer().getLevel(ModDimensions.ELYSIAN_LEVEL_KEY);
+        if (skyLevel == null || !(skyLevel.getChunkSource().getGenerator() instanceof IslandChunkGenerator generator)) {
+            source.sendFailure(Component.literal("The Elysian dimension is not available"));
+            return 0;
+        }
+        if (IslandPregenerator.getActive() != null) {
+            source.sendFailure(Component.literal("Pregeneration is already running: " + IslandPregenerator.getActive().describe()));
+            return 0;
+        }
+
+        int blockRadius = radius > 0 ? radius : generator.getIslandRadius();
+        IslandPregenerator pregenerator = IslandPregenerator.start(skyLevel, blockRadius);
+        if (pregenerator == null) {
+            source.sendFailure(Component.literal("Could not start pregeneration"));
+            return 0;
+        }
+
+        source.sendSuccess(() -> Component.literal("Pregenerating the island within " + blockRadius + " blocks: "
+                + pregenerator.describe()), true);
+        return 1;
+    }
+
+    private static int stopPregen(CommandSourceStack source) {
+        if (!IslandPregenerator.stop()) {
+            source.sendFailure(Component.literal("Pregeneration is not running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Pregeneration paused, run start again to continue"), true);
+        return 1;
+    }
+
+    private static int stats(CommandSourceStack source) {
+        for (String line : Metrics.describe()) {
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return 1;
+    }
+
+    private static int setDebug(CommandSourceStack source, Diagnostics[] categories, boolean enabled) {
+        for (Diagnostics category : categories) {
+            category.setEnabled(enabled);
+        }
+        String names = categories.length == 1 ? categories[0].getSerializedName() : "all categories";
+        source.sendSuccess(() -> Component.literal("Diagnostics for " + names + " turned " + (enabled ? "on" : "off")), true);
+        return categories.length;
+    }
+
+    private static int debugStatus(CommandSourceStack source) {
+        StringBuilder status = new StringBuilder("Diagnostics:");
+        for (Diagnostics category : Diagnostics.values()) {
+            status.append(' ').append(category.getSerializedName()).append('=').append(category.isEnabled() ? "on" : "off");
+        }
+        source.sendSuccess(() -> Component.literal(status.toString()), false);
+        return 1;
+    }
+
+    private static int pregenStatus(CommandSourceStack source) {
+        IslandPregenerator pregenerator = IslandPregenerator.getActive();
+        if (pregenerator == null) {
+            source.sendSuccess(() -> Component.literal("Pregeneration is not running"), false);
+        } else {
+            source.sendSuccess(() -> Component.literal("Pregeneration: " + pregenerator.describe()), false);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.discotots.elysianisles.debug;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A running total, safe to bump from chunk worker threads.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    Counter() {}
+
+    public void increment() {
+        this.value.increment();
+    }
+
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    public long get() {
+        return this.value.sum();
+    }
+}
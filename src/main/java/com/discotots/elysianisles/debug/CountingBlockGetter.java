@@ -0,0 +1,50 @@
+package com.discotots.elysianisles.debug;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Reads through to a level and counts the block states read, for the block read metrics and the read budgets
+ * the GameTests hold code to. Hand it to whatever reads blocks, such as a PsionicPortalShape, so nothing is missed.
+ */
+public final class CountingBlockGetter implements BlockGetter {
+    private final BlockGetter level;
+    private int reads;
+
+    public CountingBlockGetter(BlockGetter level) {
+        this.level = level;
+    }
+
+    public int getReads() {
+        return this.reads;
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return this.level.getBlockEntity(pos);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        this.reads++;
+        return this.level.getBlockState(pos);
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return this.level.getFluidState(pos);
+    }
+
+    @Override
+    public int getHeight() {
+        return this.level.getHeight();
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return this.level.getMinBuildHeight();
+    }
+}
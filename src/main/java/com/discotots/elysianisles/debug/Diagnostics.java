@@ -0,0 +1,66 @@
+package com.discotots.elysianisles.debug;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import net.minecraft.util.StringRepresentable;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+/**
+ * Diagnostic logging per subsystem, off by default and switched at runtime with /elysian debug.
+ * A disabled category costs one field read: the fixed-arity log methods check it before touching the logger,
+ * and call sites that would box or build arguments check {@link #isEnabled()} themselves.
+ * Enabled categories log at INFO with a marker named after the category.
+ */
+public enum Diagnostics implements StringRepresentable {
+    SHAPE("shape"),           // portal frame validation
+    IGNITION("ignition"),     // lighting portals
+    TRAVEL("travel"),         // entering portals, destination search and arrival
+    REGISTRY("registry"),     // portal registration and links
+    FRAMES("frames"),         // frame breaking and portal protection
+    SPAWN("spawn");           // island spawns and respawns
+
+    private final String name;
+    private final Marker marker;
+    private volatile boolean enabled;
+
+    Diagnostics(String name) {
+        this.name = name;
+        this.marker = MarkerManager.getMarker(ElysianIslesMod.MOD_ID + "_" + name);
+    }
+
+    @Override
+    public String getSerializedName() {
+        return this.name;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void log(String message) {
+        if (this.enabled) ElysianIslesMod.LOGGER.info(this.marker, message);
+    }
+
+    public void log(String message, Object arg) {
+        if (this.enabled) ElysianIslesMod.LOGGER.info(this.marker, message, arg);
+    }
+
+    public void log(String message, Object arg1, Object arg2) {
+        if (this.enabled) ElysianIslesMod.LOGGER.info(this.marker, message, arg1, arg2);
+    }
+
+    public void log(String message, Object arg1, Object arg2, Object arg3) {
+        if (this.enabled) ElysianIslesMod.LOGGER.info(this.marker, message, arg1, arg2, arg3);
+    }
+
+    /**
+     * For more arguments. The array is built before the check, so guard the call with {@link #isEnabled()}.
+     */
+    public void log(String message, Object... args) {
+        if (this.enabled) ElysianIslesMod.LOGGER.info(this.marker, message, args);
+    }
+}
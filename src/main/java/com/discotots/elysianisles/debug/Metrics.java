@@ -0,0 +1,114 @@
+package com.discotots.elysianisles.debug;
+
+import com.discotots.elysianisles.world.portal.PendingTeleports;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Every metric the mod records, shown by /elysian stats and dumped to a file for dashboards.
+ * Counters and histograms are always on, recording one is cheap enough for the hot paths they sit on.
+ * Gauges are read only when a report is made.
+ */
+public final class Metrics {
+    private static final Map<String, Counter> counters = new TreeMap<>();
+    private static final Map<String, Histogram> histograms = new TreeMap<>();
+    private static final Map<String, DoubleSupplier> gauges = new TreeMap<>();
+
+    // World generation
+    public static final Histogram CHUNK_FILL = histogram("worldgen.chunk_fill", true);
+    public static final Counter EMPTY_CHUNKS = counter("worldgen.empty_chunks");
+
+    // Portal travel
+    public static final Histogram PORTAL_SEARCH = histogram("portal.search", true);
+    public static final Histogram PORTAL_SEARCH_BLOCK_READS = histogram("portal.search_block_reads", false);
+    public static final Counter PORTALS_CREATED = counter("portal.created");
+
+    // Portal shapes and frames
+    public static final Histogram SHAPE_VALIDATION = histogram("shape.validation", true);
+    public static final Counter SHAPE_CACHE_HITS = counter("shape.cache_hits");
+    public static final Counter SHAPE_CACHE_MISSES = counter("shape.cache_misses");
+    public static final Counter PORTALS_REMOVED = counter("portal.unregistered");
+    public static final Histogram FRAME_BREAK_CHECK = histogram("frames.break_check", true);
+    public static final Counter FRAME_INDEX_HITS = counter("frames.index_hits");
+    public static final Counter FRAME_ADJACENT_SCANS = counter("frames.adjacent_scans");
+
+    static {
+        gauge("portal.trips_completed", PendingTeleports::getCompletedCount);
+        gauge("portal.trips_timed_out", PendingTeleports::getTimedOutCount);
+        gauge("portal.entities_moved", PendingTeleports::getEntitiesMoved);
+        gauge("portal.preload_wait_avg_ms", PendingTeleports::getAverageWaitMillis);
+        gauge("portal.preload_wait_max_ms", PendingTeleports::getMaxWaitMillis);
+    }
+
+    private Metrics() {}
+
+    private static Counter counter(String name) {
+        Counter counter = new Counter();
+        counters.put(name, counter);
+        return counter;
+    }
+
+    private static Histogram histogram(String name, boolean nanos) {
+        Histogram histogram = new Histogram(nanos);
+        histograms.put(name, histogram);
+        return histogram;
+    }
+
+    private static void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    private static double toReported(Histogram histogram, double value) {
+        return histogram.isNanos() ? value / 1.0E6 : value;
+    }
+
+    /**
+     * One line per metric, durations in milliseconds.
+     */
+    public static List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        counters.forEach((name, counter) -> lines.add(name + ": " + counter.get()));
+        gauges.forEach((name, gauge) -> lines.add(String.format("%s: %.2f", name, gauge.getAsDouble())));
+        histograms.forEach((name, histogram) -> lines.add(String.format("%s: n=%d mean=%.3f p50=%.3f p99=%.3f max=%.3f%s",
+                name, histogram.getCount(),
+                toReported(histogram, histogram.getMean()),
+                toReported(histogram, histogram.getPercentile(50)),
+                toReported(histogram, histogram.getPercentile(99)),
+                toReported(histogram, histogram.getMax()),
+                histogram.isNanos() ? " ms" : "")));
+        return lines;
+    }
+
+    public static JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("timestamp", System.currentTimeMillis());
+
+        JsonObject counterJson = new JsonObject();
+        counters.forEach((name, counter) -> counterJson.addProperty(name, counter.get()));
+        json.add("counters", counterJson);
+
+        JsonObject gaugeJson = new JsonObject();
+        gauges.forEach((name, gauge) -> gaugeJson.addProperty(name, gauge.getAsDouble()));
+        json.add("gauges", gaugeJson);
+
+        JsonObject histogramJson = new JsonObject();
+        histograms.forEach((name, histogram) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("unit", histogram.isNanos() ? "ms" : "count");
+            entry.addProperty("count", histogram.getCount());
+            entry.addProperty("mean", toReported(histogram, histogram.getMean()));
+            entry.addProperty("p50", toReported(histogram, histogram.getPercentile(50)));
+            entry.addProperty("p90", toReported(histogram, histogram.getPercentile(90)));
+            entry.addProperty("p99", toReported(histogram, histogram.getPercentile(99)));
+            entry.addProperty("max", toReported(histogram, histogram.getMax()));
+            histogramJson.add(name, entry);
+        });
+        json.add("histograms", histogramJson);
+        return json;
+    }
+}
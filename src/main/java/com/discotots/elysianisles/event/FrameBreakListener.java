@@ -1,100 +1,88 @@
 package com.discotots.elysianisles.event;
 
-import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.block.PortalShapeCache;
+import com.discotots.elysianisles.block.PsionicPortalBlock;
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.debug.Metrics;
 import com.discotots.elysianisles.init.ModBlocks;
+import com.discotots.elysianisles.world.portal.BlockBatch;
+import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.world.portal.PortalRecord;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
-import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.event.level.BlockEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 public class FrameBreakListener {
 
     @SubscribeEvent
     public void onBlockBreak(BlockEvent.BreakEvent event) { // REMOVED static
-        Level level = (Level) event.getLevel();
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
         BlockPos pos = event.getPos();
         BlockState brokenBlock = event.getState();
 
         // Check if a smooth stone frame block was broken
-        if (brokenBlock.is(Blocks.SMOOTH_STONE)) {
-            ElysianIslesMod.LOGGER.info("Smooth stone broken at {}, checking for adjacent portals", pos);
-
-            // Look for portal blocks near the broken frame block
-            Set<BlockPos> affectedPortals = findNearbyPortalBlocks(level, pos);
-
-            if (!affectedPortals.isEmpty()) {
-                ElysianIslesMod.LOGGER.info("Found {} portal blocks near broken frame, destroying portals", affectedPortals.size());
-
-                // Destroy all connected portal structures
-                Set<BlockPos> allPortalBlocks = new HashSet<>();
-                for (BlockPos portalPos : affectedPortals) {
-                    allPortalBlocks.addAll(findConnectedPortalBlocks(level, portalPos));
-                }
-
-                // Remove all portal blocks
-                for (BlockPos portalPos : allPortalBlocks) {
-                    if (level.getBlockState(portalPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                        level.setBlock(portalPos, Blocks.AIR.defaultBlockState(), 3);
-                    }
-                }
-
-                // Play portal destruction sound
-                level.playSound(null, pos, SoundEvents.PORTAL_TRIGGER, SoundSource.BLOCKS, 0.5F, 0.5F);
-                level.playSound(null, pos, SoundEvents.GLASS_BREAK, SoundSource.BLOCKS, 1.0F, 1.0F);
+        if (!brokenBlock.is(Blocks.SMOOTH_STONE)) return;
+
+        // Registered portals know their frame blocks, anything else is a single lookup miss
+        long start = System.nanoTime();
+        PortalManager portalManager = PortalManager.get(level);
+        PortalRecord portal = portalManager.getPortalByFrame(level.dimension(), pos);
+        Iterable<BlockPos> interior;
+        BlockPos bottomLeft;
+        if (portal != null) {
+            Metrics.FRAME_INDEX_HITS.increment();
+            interior = portal.getInteriorPositions();
+            bottomLeft = portal.getBottomLeft();
+        } else {
+            // Portals from before the registry are only caught through a portal block right next to the frame
+            Metrics.FRAME_ADJACENT_SCANS.increment();
+            PsionicPortalShape shape = findAdjacentPortal(level, pos);
+            if (shape == null) {
+                Metrics.FRAME_BREAK_CHECK.recordSince(start);
+                return;
             }
+            interior = shape.getInteriorPositions();
+            bottomLeft = shape.getBottomLeft();
         }
-    }
-
-    private Set<BlockPos> findNearbyPortalBlocks(Level level, BlockPos framePos) { // REMOVED static
-        Set<BlockPos> portalBlocks = new HashSet<>();
 
-        // Check in a 5x5x5 area around the broken frame block
-        for (int x = -2; x <= 2; x++) {
-            for (int y = -2; y <= 2; y++) {
-                for (int z = -2; z <= 2; z++) {
-                    BlockPos checkPos = framePos.offset(x, y, z);
-                    if (level.getBlockState(checkPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                        portalBlocks.add(checkPos);
-                    }
-                }
+        // Remove all portal blocks
+        BlockBatch batch = new BlockBatch(level);
+        for (BlockPos portalPos : interior) {
+            if (level.getBlockState(portalPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
+                batch.set(portalPos, Blocks.AIR.defaultBlockState());
             }
         }
+        int removed = batch.apply();
+        portalManager.removePortals(level.dimension(), List.of(bottomLeft));
+        Metrics.FRAME_BREAK_CHECK.recordSince(start);
 
-        return portalBlocks;
-    }
-
-    private Set<BlockPos> findConnectedPortalBlocks(Level level, BlockPos start) { // REMOVED static
-        Set<BlockPos> portalBlocks = new HashSet<>();
-        Set<BlockPos> toCheck = new HashSet<>();
-        toCheck.add(start);
-
-        while (!toCheck.isEmpty()) {
-            BlockPos checking = toCheck.iterator().next();
-            toCheck.remove(checking);
-
-            if (portalBlocks.contains(checking)) continue;
+        if (Diagnostics.FRAMES.isEnabled()) {
+            Diagnostics.FRAMES.log("Frame block broken at {}, removed {} portal blocks of the portal at {}",
+                    pos, removed, bottomLeft);
+        }
 
-            if (level.getBlockState(checking).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                portalBlocks.add(checking);
+        // Play portal destruction sound
+        level.playSound(null, pos, SoundEvents.PORTAL_TRIGGER, SoundSource.BLOCKS, 0.5F, 0.5F);
+        level.playSound(null, pos, SoundEvents.GLASS_BREAK, SoundSource.BLOCKS, 1.0F, 1.0F);
+    }
 
-                // Add adjacent blocks to check
-                for (Direction dir : Direction.values()) {
-                    BlockPos adjacent = checking.relative(dir);
-                    if (!portalBlocks.contains(adjacent)) {
-                        toCheck.add(adjacent);
-                    }
-                }
+    private PsionicPortalShape findAdjacentPortal(ServerLevel level, BlockPos framePos) {
+        for (Direction dir : Direction.values()) {
+            BlockPos neighbour = framePos.relative(dir);
+            BlockState state = level.getBlockState(neighbour);
+            if (state.is(ModBlocks.PSIONIC_PORTAL.get())) {
+                return PortalShapeCache.get(level, neighbour, state.getValue(PsionicPortalBlock.AXIS));
             }
         }
-
-        return portalBlocks;
+        return null;
     }
 }
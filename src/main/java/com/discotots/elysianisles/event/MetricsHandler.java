@@ -0,0 +1,63 @@
+package com.discotots.elysianisles.event;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Metrics;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the metrics to logs/elysianisles_metrics.json every minute, replacing the previous snapshot.
+ * The snapshot is taken on the server thread and written on the IO pool.
+ */
+public class MetricsHandler {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final int DUMP_INTERVAL_TICKS = 1200;
+
+    private int ticks;
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END && ++this.ticks >= DUMP_INTERVAL_TICKS) {
+            this.ticks = 0;
+            dump(event.getServer());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        dump(event.getServer());
+    }
+
+    private static void dump(MinecraftServer server) {
+        String json = GSON.toJson(Metrics.toJson());
+        Path file = server.getServerDirectory().toPath().resolve("logs").resolve(ElysianIslesMod.MOD_ID + "_metrics.json");
+        Util.ioPool().execute(() -> write(file, json));
+    }
+
+    private static void write(Path file, String json) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, json, StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            ElysianIslesMod.LOGGER.warn("Could not write metrics to {}", file, e);
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.discotots.elysianisles.event;
 
 import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
 import com.discotots.elysianisles.init.ModDimensions;
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
+import com.discotots.elysianisles.world.spawn.SpawnPointTable;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
-import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraftforge.common.util.ITeleporter;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
@@ -21,10 +23,9 @@ public class PlayerSpawnHandler {
     private static final String NBT_KEY_ELYSIAN_SPAWNED = "elysian_spawned";
     private static final String NBT_KEY_SHOULD_RESPAWN_IN_SKY = "should_respawn_in_sky";
 
-    // --- Island Spawn Coordinates ---
+    // --- Island Spawn Coordinates (used when the sky dimension runs a different generator) ---
     private static final int ISLAND_CENTER_X = 8;
     private static final int ISLAND_CENTER_Z = -5;
-    private static final int ISLAND_MAX_RADIUS = 125;
 
     @SubscribeEvent
     public void onPlayerFirstJoin(PlayerEvent.PlayerLoggedInEvent event) { // REMOVED static
@@ -33,7 +34,7 @@ public class PlayerSpawnHandler {
             if (!playerData.getBoolean(NBT_KEY_ELYSIAN_SPAWNED)) {
                 playerData.putBoolean(NBT_KEY_ELYSIAN_SPAWNED, true);
                 teleportToSkyIsland(player);
-                ElysianIslesMod.LOGGER.info("New player {} spawned in Elysian dimension.", player.getName().getString());
+                Diagnostics.SPAWN.log("New player {} spawned in Elysian dimension.", player.getGameProfile().getName());
             }
         }
     }
@@ -43,7 +44,7 @@ public class PlayerSpawnHandler {
         if (event.getEntity() instanceof ServerPlayer player) {
             if (player.level().dimension() == ModDimensions.ELYSIAN_LEVEL_KEY) {
                 player.getPersistentData().putBoolean(NBT_KEY_SHOULD_RESPAWN_IN_SKY, true);
-                ElysianIslesMod.LOGGER.info("Player {} died in Elysian Isles. Marking for sky respawn.", player.getName().getString());
+                Diagnostics.SPAWN.log("Player {} died in Elysian Isles. Marking for sky respawn.", player.getGameProfile().getName());
             }
         }
     }
@@ -71,7 +72,7 @@ public class PlayerSpawnHandler {
         if (event.getEntity() instanceof ServerPlayer player) {
             if (player.getPersistentData().getBoolean(NBT_KEY_SHOULD_RESPAWN_IN_SKY)) {
                 player.getPersistentData().remove(NBT_KEY_SHOULD_RESPAWN_IN_SKY);
-                ElysianIslesMod.LOGGER.info("Player {} is respawning. Forcing to sky dimension.", player.getName().getString());
+                Diagnostics.SPAWN.log("Player {} is respawning. Forcing to sky dimension.", player.getGameProfile().getName());
                 teleportToSkyIsland(player);
             }
         }
@@ -99,46 +100,24 @@ public class PlayerSpawnHandler {
             player.teleportTo(skyLevel, spawnPos.getX() + 0.5, spawnPos.getY(), spawnPos.getZ() + 0.5, 0.0F, 0.0F);
         }
 
-        ElysianIslesMod.LOGGER.info("Successfully teleported player {} to a safe location on the Sky Island: {}", player.getName().getString(), spawnPos);
+        Diagnostics.SPAWN.log("Successfully teleported player {} to a safe location on the Sky Island: {}", player.getGameProfile().getName(), spawnPos);
     }
 
     private static BlockPos findSafeSpawnOnIsland(ServerLevel level) {
-        BlockPos centerSpawn = findSafeSpotAt(level, ISLAND_CENTER_X, ISLAND_CENTER_Z);
-        if (centerSpawn != null) {
-            return centerSpawn;
+        int centerX = ISLAND_CENTER_X;
+        int centerZ = ISLAND_CENTER_Z;
+        if (level.getChunkSource().getGenerator() instanceof IslandChunkGenerator generator) {
+            centerX = generator.getIslandCenterX();
+            centerZ = generator.getIslandCenterZ();
         }
 
-        for (int radius = 3; radius <= 50; radius += 3) {
-            for (int angle = 0; angle < 360; angle += 45) {
-                double radians = Math.toRadians(angle);
-                int x = ISLAND_CENTER_X + (int) (radius * Math.cos(radians));
-                int z = ISLAND_CENTER_Z + (int) (radius * Math.sin(radians));
-
-                BlockPos spawnSpot = findSafeSpotAt(level, x, z);
-                if (spawnSpot != null) {
-                    ElysianIslesMod.LOGGER.info("Found safe spawn at ({}, {})", x, z);
-                    return spawnSpot;
-                }
-            }
+        BlockPos spawnSpot = SpawnPointTable.get(level).nextSpawn(level, centerX, centerZ);
+        if (spawnSpot != null) {
+            return spawnSpot;
         }
 
-        BlockPos fallbackPos = new BlockPos(ISLAND_CENTER_X, 90, ISLAND_CENTER_Z);
+        BlockPos fallbackPos = new BlockPos(centerX, 90, centerZ);
         ElysianIslesMod.LOGGER.warn("Could not find a safe spawn location. Using fallback position: {}", fallbackPos);
         return fallbackPos;
     }
-
-    private static BlockPos findSafeSpotAt(ServerLevel level, int x, int z) {
-        int surfaceY = level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
-        BlockPos.MutableBlockPos testPos = new BlockPos.MutableBlockPos(x, surfaceY, z);
-
-        for (int y = testPos.getY() + 5; y > 60; y--) {
-            testPos.setY(y);
-            if (level.getBlockState(testPos).isAir() && level.getBlockState(testPos.above()).isAir()) {
-                if (level.getBlockState(testPos.below()).isSolidRender(level, testPos.below())) {
-                    return testPos.immutable();
-                }
-            }
-        }
-        return null;
-    }
 }
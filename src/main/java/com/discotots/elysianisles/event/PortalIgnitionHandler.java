@@ -2,7 +2,7 @@ package com.discotots.elysianisles.event;
 
 import com.discotots.elysianisles.ElysianIslesMod;
 import com.discotots.elysianisles.block.PsionicPortalShape;
-import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.debug.Diagnostics;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
@@ -28,31 +28,25 @@ public class PortalIgnitionHandler {
         BlockPos pos = event.getPos();
         ItemStack itemStack = event.getItemStack();
 
-        ElysianIslesMod.LOGGER.info("Right click detected at {} with item {}", pos, itemStack.getItem());
+        Diagnostics.IGNITION.log("Right click detected at {} with item {}", pos, itemStack.getItem());
 
         if (itemStack.getItem() instanceof FlintAndSteelItem && level.getBlockState(pos).is(Blocks.SMOOTH_STONE)) {
-            ElysianIslesMod.LOGGER.info("Flint and steel used on smooth stone at {}", pos);
+            Diagnostics.IGNITION.log("Flint and steel used on smooth stone at {}", pos);
 
             ServerLevel serverLevel = (ServerLevel) level;
             BlockPos posInPortal = pos.relative(event.getFace());
 
-            ElysianIslesMod.LOGGER.info("Checking portal creation at {}", posInPortal);
+            Diagnostics.IGNITION.log("Checking portal creation at {}", posInPortal);
 
             Optional<PsionicPortalShape> optionalShape = tryCreatePortal(serverLevel, posInPortal);
 
             if (optionalShape.isPresent()) {
-                ElysianIslesMod.LOGGER.info("Valid portal shape found! Creating portal...");
-
-                PortalManager portalManager = PortalManager.get(serverLevel);
-                // Destroy the old portal in this dimension before creating the new one
-                portalManager.destroyOldPortal(serverLevel);
+                Diagnostics.IGNITION.log("Valid portal shape found! Creating portal...");
 
+                // Creating the blocks also registers the portal, existing portals stay in place
                 PsionicPortalShape shape = optionalShape.get();
                 shape.createPortalBlocks();
 
-                // Register the new portal's position
-                portalManager.setPortalPos(serverLevel.dimension(), shape.getBottomLeft());
-
                 level.playSound(null, pos, SoundEvents.FLINTANDSTEEL_USE, SoundSource.BLOCKS, 1.0F, level.random.nextFloat() * 0.4F + 0.8F);
                 itemStack.hurtAndBreak(1, event.getEntity(), p -> p.broadcastBreakEvent(event.getHand()));
 
@@ -61,30 +55,34 @@ public class PortalIgnitionHandler {
 
                 ElysianIslesMod.LOGGER.info("Portal created successfully at {}", shape.getBottomLeft());
             } else {
-                ElysianIslesMod.LOGGER.info("No valid portal shape found at {}", posInPortal);
+                Diagnostics.IGNITION.log("No valid portal shape found at {}", posInPortal);
             }
         }
     }
 
     public static Optional<PsionicPortalShape> tryCreatePortal(Level level, BlockPos pos) {
-        ElysianIslesMod.LOGGER.info("Trying to create portal at {} - checking Z axis first", pos);
+        Diagnostics.IGNITION.log("Trying to create portal at {} - checking Z axis first", pos);
 
         Optional<PsionicPortalShape> optionalZ = Optional.of(new PsionicPortalShape(level, pos, Direction.Axis.Z)).filter(PsionicPortalShape::isValid);
         if (optionalZ.isPresent()) {
             PsionicPortalShape shape = optionalZ.get();
-            ElysianIslesMod.LOGGER.info("Found valid Z-axis portal: {}x{} at {}", shape.getWidth(), shape.getHeight(), shape.getBottomLeft());
+            if (Diagnostics.IGNITION.isEnabled()) {
+                Diagnostics.IGNITION.log("Found valid Z-axis portal: {}x{} at {}", shape.getWidth(), shape.getHeight(), shape.getBottomLeft());
+            }
             return optionalZ;
         }
 
-        ElysianIslesMod.LOGGER.info("Z-axis portal invalid, trying X axis");
+        Diagnostics.IGNITION.log("Z-axis portal invalid, trying X axis");
         Optional<PsionicPortalShape> optionalX = Optional.of(new PsionicPortalShape(level, pos, Direction.Axis.X)).filter(PsionicPortalShape::isValid);
         if (optionalX.isPresent()) {
             PsionicPortalShape shape = optionalX.get();
-            ElysianIslesMod.LOGGER.info("Found valid X-axis portal: {}x{} at {}", shape.getWidth(), shape.getHeight(), shape.getBottomLeft());
+            if (Diagnostics.IGNITION.isEnabled()) {
+                Diagnostics.IGNITION.log("Found valid X-axis portal: {}x{} at {}", shape.getWidth(), shape.getHeight(), shape.getBottomLeft());
+            }
             return optionalX;
         }
 
-        ElysianIslesMod.LOGGER.info("No valid portal shape found for either axis");
+        Diagnostics.IGNITION.log("No valid portal shape found for either axis");
         return Optional.empty();
     }
 }
\ No newline at end of file
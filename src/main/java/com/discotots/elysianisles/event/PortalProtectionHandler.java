@@ -1,6 +1,6 @@
 package com.discotots.elysianisles.event;
 
-import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
 import com.discotots.elysianisles.init.ModBlocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraftforge.event.level.BlockEvent;
@@ -14,9 +14,11 @@ public class PortalProtectionHandler {
 
         // Absolutely prevent breaking of portal blocks
         if (state.is(ModBlocks.PSIONIC_PORTAL.get())) {
-            ElysianIslesMod.LOGGER.info("Blocked attempt to break portal block at {} by {}",
-                    event.getPos(),
-                    event.getPlayer() != null ? event.getPlayer().getName().getString() : "unknown");
+            if (Diagnostics.FRAMES.isEnabled()) {
+                Diagnostics.FRAMES.log("Blocked attempt to break portal block at {} by {}",
+                        event.getPos(),
+                        event.getPlayer() != null ? event.getPlayer().getName().getString() : "unknown");
+            }
             event.setCanceled(true);
         }
     }
@@ -26,7 +28,7 @@ public class PortalProtectionHandler {
         // Prevent multi-block placement that might affect portals
         if (event.getReplacedBlockSnapshots().stream()
                 .anyMatch(snapshot -> snapshot.getCurrentBlock().is(ModBlocks.PSIONIC_PORTAL.get()))) {
-            ElysianIslesMod.LOGGER.info("Blocked multi-block event affecting portal blocks");
+            Diagnostics.FRAMES.log("Blocked multi-block event affecting portal blocks");
             event.setCanceled(true);
         }
     }
@@ -35,7 +37,7 @@ public class PortalProtectionHandler {
     public void onBlockPlace(BlockEvent.EntityPlaceEvent event) { // REMOVED static
         // Prevent placing blocks that would replace portal blocks
         if (event.getBlockSnapshot().getReplacedBlock().is(ModBlocks.PSIONIC_PORTAL.get())) {
-            ElysianIslesMod.LOGGER.info("Blocked attempt to place block over portal block at {}", event.getPos());
+            Diagnostics.FRAMES.log("Blocked attempt to place block over portal block at {}", event.getPos());
             event.setCanceled(true);
         }
     }
@@ -0,0 +1,31 @@
+package com.discotots.elysianisles.event;
+
+import com.discotots.elysianisles.block.PortalShapeCache;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.event.level.LevelEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+public class PortalShapeCacheHandler {
+
+    @SubscribeEvent
+    public void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        // Fired for every block change that updates its neighbours
+        if (event.getLevel() instanceof Level level && !level.isClientSide()) {
+            PortalShapeCache.invalidate(level, event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof Level level && !level.isClientSide()) {
+            PortalShapeCache.clear(level.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        PortalShapeCache.clearAll();
+    }
+}
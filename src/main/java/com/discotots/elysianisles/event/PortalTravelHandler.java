@@ -0,0 +1,23 @@
+package com.discotots.elysianisles.event;
+
+import com.discotots.elysianisles.world.portal.PendingTeleports;
+import com.discotots.elysianisles.world.portal.PortalCooldowns;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+public class PortalTravelHandler {
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            PendingTeleports.tick(event.getServer());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        PendingTeleports.clear();
+        PortalCooldowns.clear();
+    }
+}
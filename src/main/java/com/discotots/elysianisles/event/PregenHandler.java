@@ -0,0 +1,39 @@
+package com.discotots.elysianisles.event;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.init.ModDimensions;
+import com.discotots.elysianisles.world.pregen.IslandPregenerator;
+import com.discotots.elysianisles.world.pregen.PregenProgress;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.server.ServerStartedEvent;
+import net.minecraftforge.event.server.ServerStoppingEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+public class PregenHandler {
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            IslandPregenerator.tickActive();
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStarted(ServerStartedEvent event) {
+        ServerLevel skyLevel = event.getServer().getLevel(ModDimensions.ELYSIAN_LEVEL_KEY);
+        if (skyLevel == null) return;
+
+        // Resume a run that was interrupted by a shutdown
+        PregenProgress progress = PregenProgress.get(skyLevel);
+        if (progress.isRunning()) {
+            ElysianIslesMod.LOGGER.info("Resuming Elysian pregeneration from chunk {}", progress.getResumeIndex());
+            IslandPregenerator.start(skyLevel, progress.getRadius());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopping(ServerStoppingEvent event) {
+        IslandPregenerator.halt();
+    }
+}
@@ -0,0 +1,124 @@
+package com.discotots.elysianisles.gametest;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import com.discotots.elysianisles.event.PortalIgnitionHandler;
+import com.discotots.elysianisles.init.ModBlocks;
+import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.world.portal.PortalRecord;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.animal.Pig;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What the portal GameTests share: the empty template, building and lighting frames, sending entities through
+ * a portal, and cleaning up the portals and pigs a test leaves behind.
+ * Positions passed in are relative to the test, positions of portal shapes and records are absolute.
+ */
+final class PortalFixtures {
+    static final String TEMPLATE = "portal_platform";
+
+    private static final String PIG_TAG = ElysianIslesMod.MOD_ID + "_gametest";
+
+    private PortalFixtures() {}
+
+    /**
+     * Builds a smooth stone frame around a width x height opening. The corner is the frame's bottom block on the
+     * side the opening starts from, the opening runs east (X axis) or south (Z axis) from there.
+     */
+    static void buildFrame(GameTestHelper helper, BlockPos corner, Direction.Axis axis, int width, int height) {
+        Direction right = axis == Direction.Axis.X ? Direction.EAST : Direction.SOUTH;
+        for (int w = 0; w <= width + 1; w++) {
+            for (int h = 0; h <= height + 1; h++) {
+                if (w == 0 || w == width + 1 || h == 0 || h == height + 1) {
+                    helper.setBlock(corner.relative(right, w).above(h), Blocks.SMOOTH_STONE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a frame and lights it the way flint and steel does, which also registers the portal.
+     */
+    static PsionicPortalShape ignite(GameTestHelper helper, BlockPos corner, Direction.Axis axis, int width, int height) {
+        buildFrame(helper, corner, axis, width, height);
+        Direction right = axis == Direction.Axis.X ? Direction.EAST : Direction.SOUTH;
+        BlockPos inside = helper.absolutePos(corner.relative(right).above());
+        PsionicPortalShape shape = PortalIgnitionHandler.tryCreatePortal(helper.getLevel(), inside)
+                .orElseThrow(() -> new GameTestAssertException("The frame at " + corner + " was not recognised as a portal"));
+        shape.createPortalBlocks();
+        return shape;
+    }
+
+    /**
+     * Drives PsionicPortalBlock.entityInside for an entity standing in the portal block at an absolute position.
+     */
+    static void enterPortal(GameTestHelper helper, BlockPos pos, Entity entity) {
+        BlockState state = helper.getLevel().getBlockState(pos);
+        helper.assertTrue(state.is(ModBlocks.PSIONIC_PORTAL.get()), "No portal block at " + pos);
+        state.entityInside(helper.getLevel(), pos, entity);
+    }
+
+    /**
+     * A pig tagged so its copy can be found again after it travelled. It has no AI, so it cannot wander out of
+     * the portal while the destination loads.
+     */
+    static Pig spawnPig(GameTestHelper helper, BlockPos relativePos) {
+        Pig pig = helper.spawn(EntityType.PIG, relativePos);
+        pig.setNoAi(true);
+        pig.addTag(PIG_TAG);
+        return pig;
+    }
+
+    /**
+     * Travelling copies entities into the new level, this discards the tagged copies and returns how many there were.
+     */
+    static int discardPigs(ServerLevel level) {
+        List<Entity> pigs = new ArrayList<>();
+        for (Entity entity : level.getAllEntities()) {
+            if (entity.getTags().contains(PIG_TAG)) {
+                pigs.add(entity);
+            }
+        }
+        pigs.forEach(Entity::discard);
+        return pigs.size();
+    }
+
+    /**
+     * Unregisters a portal and clears its portal blocks, so a later batch cannot pick it up as an unregistered portal.
+     */
+    static void removePortal(ServerLevel anyLevel, PortalRecord portal) {
+        PortalManager.get(anyLevel).removePortals(portal.getDimension(), List.of(portal.getBottomLeft()));
+        ServerLevel level = anyLevel.getServer().getLevel(portal.getDimension());
+        if (level != null) {
+            for (BlockPos pos : portal.getInteriorPositions()) {
+                level.setBlock(pos, Blocks.AIR.defaultBlockState(), 2);
+            }
+        }
+    }
+
+    /**
+     * Unregisters a portal a test travelled through, and removes the portal it was paired with.
+     * The test's own portal blocks go with the template.
+     */
+    static void removeTrip(GameTestHelper helper, PsionicPortalShape shape) {
+        ServerLevel level = helper.getLevel();
+        PortalManager portalManager = PortalManager.get(level);
+        PortalRecord source = portalManager.getPortal(level.dimension(), shape.getBottomLeft());
+        PortalRecord link = source != null ? source.getLink() : null;
+        portalManager.removePortals(level.dimension(), List.of(shape.getBottomLeft()));
+        if (link != null) {
+            removePortal(level, link);
+        }
+    }
+}
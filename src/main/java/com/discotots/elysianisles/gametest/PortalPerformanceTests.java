@@ -0,0 +1,274 @@
+package com.discotots.elysianisles.gametest;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import com.discotots.elysianisles.debug.CountingBlockGetter;
+import com.discotots.elysianisles.debug.Metrics;
+import com.discotots.elysianisles.event.FrameBreakListener;
+import com.discotots.elysianisles.event.PortalIgnitionHandler;
+import com.discotots.elysianisles.init.ModBlocks;
+import com.discotots.elysianisles.init.ModDimensions;
+import com.discotots.elysianisles.world.portal.PendingTeleports;
+import com.discotots.elysianisles.world.portal.PortalManager;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestAssertException;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.gametest.framework.GameTestSequence;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.animal.Pig;
+import net.minecraft.world.entity.player.Player;
+import net.minecraftforge.event.level.BlockEvent;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Performance budgets for the portal code, run headless with runGameTestServer.
+ * Each test builds a 4x5 portal frame in an empty template and drives the real entry points: ignition, travel
+ * and frame breaking. Block read budgets are tight, they catch a search that suddenly scans far more than it
+ * should; time budgets are loose enough for a slow CI machine and only catch gross regressions. Timings are never
+ * taken cold: ignition and frame breaks are held to the median of several runs, and a trip is only timed after
+ * a warm-up trip has run the same search.
+ * Every test runs in its own batch so the metrics it reads are not shared with a test running alongside.
+ */
+@GameTestHolder(ElysianIslesMod.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PortalPerformanceTests {
+    // The frame runs along X, its bottom-left corner block sits here in the template
+    private static final BlockPos FRAME_CORNER = new BlockPos(1, 1, 2);
+    private static final int WIDTH = 4;
+    private static final int HEIGHT = 5;
+
+    // Shape detection reads about 60 blocks for a 4x5 frame, a walk over the build height reads hundreds
+    private static final int SHAPE_READ_BUDGET = 128;
+    private static final long IGNITION_BUDGET_MILLIS = 20;
+    // A destination search, including building a new portal on the island
+    private static final long SEARCH_READ_BUDGET = 4096;
+    private static final long SEARCH_BUDGET_MILLIS = 50;
+    private static final long TRAVEL_TICK_BUDGET_MILLIS = 250;
+    private static final long FRAME_BREAK_BUDGET_MILLIS = 20;
+    // Timed steps run this many times and the median is held to the budget
+    private static final int RUNS = 7;
+
+    private static final int PIGS = 4;
+    // The player data flag PlayerSpawnHandler sets once a player has been sent to the island
+    private static final String ELYSIAN_SPAWNED_TAG = "elysian_spawned";
+
+    /**
+     * Metric readings taken right before the timed trip, so the checks only see what that trip recorded.
+     */
+    private record Readings(long searches, long searchNanos, long searchReads, int tick) {
+        static Readings take(MinecraftServer server) {
+            return new Readings(Metrics.PORTAL_SEARCH.getCount(), Metrics.PORTAL_SEARCH.getSum(),
+                    Metrics.PORTAL_SEARCH_BLOCK_READS.getSum(), server.getTickCount());
+        }
+    }
+
+    @GameTest(template = PortalFixtures.TEMPLATE, batch = "elysianisles_ignition")
+    public static void ignitionWithinBudget(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        PortalFixtures.buildFrame(helper, FRAME_CORNER, Direction.Axis.X, WIDTH, HEIGHT);
+
+        // Start in the top-right of the opening so detection has to walk down and left to the corner
+        BlockPos topRight = helper.absolutePos(FRAME_CORNER.offset(WIDTH, HEIGHT, 0));
+        CountingBlockGetter counting = new CountingBlockGetter(level);
+        PsionicPortalShape counted = new PsionicPortalShape(counting, topRight, Direction.Axis.X);
+        helper.assertTrue(counted.isValid() && counted.getWidth() == WIDTH && counted.getHeight() == HEIGHT,
+                "Expected a valid " + WIDTH + "x" + HEIGHT + " portal, got " + counted.getWidth() + "x" + counted.getHeight());
+        assertWithin(helper, "Shape detection block reads", counting.getReads(), SHAPE_READ_BUDGET);
+
+        // Portal blocks count as empty for detection, so lighting the lit frame again finds the same shape
+        long[] nanos = new long[RUNS];
+        PsionicPortalShape shape = null;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            shape = PortalIgnitionHandler.tryCreatePortal(level, topRight)
+                    .orElseThrow(() -> new GameTestAssertException("The frame was not recognised as a portal"));
+            shape.createPortalBlocks();
+            nanos[run] = System.nanoTime() - start;
+        }
+        assertWithinMillis(helper, "Ignition (median of " + RUNS + ")", median(nanos), IGNITION_BUDGET_MILLIS);
+
+        helper.assertBlockPresent(ModBlocks.PSIONIC_PORTAL.get(), FRAME_CORNER.offset(1, 1, 0));
+        helper.assertBlockPresent(ModBlocks.PSIONIC_PORTAL.get(), FRAME_CORNER.offset(WIDTH, HEIGHT, 0));
+
+        // The template is cleared without breaking the frame, so unregister the portal here
+        PortalManager.get(level).removePortals(level.dimension(), List.of(shape.getBottomLeft()));
+        helper.succeed();
+    }
+
+    @GameTest(template = PortalFixtures.TEMPLATE, batch = "elysianisles_player_travel", timeoutTicks = 600)
+    public static void playerTravelWithinBudget(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        MinecraftServer server = level.getServer();
+        helper.assertTrue(server.getLevel(ModDimensions.ELYSIAN_LEVEL_KEY) != null, "The Elysian dimension is not loaded");
+
+        PsionicPortalShape shape = ignite(helper);
+        BlockPos inside = shape.getBottomLeft();
+        ServerPlayer player = helper.makeMockServerPlayerInLevel();
+        // Joining sends a new player to the island, the player is brought to the portal after the warm-up
+        player.getPersistentData().putBoolean(ELYSIAN_SPAWNED_TAG, true);
+
+        long moved = PendingTeleports.getEntitiesMoved();
+        AtomicReference<Readings> readings = new AtomicReference<>();
+        warmUp(helper, shape, moved)
+                .thenExecute(() -> {
+                    player.teleportTo(level, inside.getX() + 0.5, inside.getY(), inside.getZ() + 0.5, 0.0F, 0.0F);
+                    helper.assertTrue(player.level() == level, "The mock player is not in the test level");
+                    readings.set(Readings.take(server));
+                    PortalFixtures.enterPortal(helper, inside, player);
+                })
+                .thenWaitUntil(() -> helper.assertTrue(PendingTeleports.getEntitiesMoved() - moved >= 2,
+                        "The player has not travelled yet"))
+                .thenExecute(() -> {
+                    boolean arrived = player.level().dimension() == ModDimensions.ELYSIAN_LEVEL_KEY;
+                    server.getPlayerList().remove(player);
+                    PortalFixtures.removeTrip(helper, shape);
+
+                    helper.assertTrue(arrived, "The player did not arrive in the Elysian dimension");
+                    assertSearch(helper, readings.get());
+                    assertTickBudget(helper, readings.get().tick());
+                })
+                .thenSucceed();
+    }
+
+    @GameTest(template = PortalFixtures.TEMPLATE, batch = "elysianisles_batch_travel", timeoutTicks = 600)
+    public static void batchTravelSearchesOnce(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        MinecraftServer server = level.getServer();
+        ServerLevel sky = server.getLevel(ModDimensions.ELYSIAN_LEVEL_KEY);
+        helper.assertTrue(sky != null, "The Elysian dimension is not loaded");
+
+        PsionicPortalShape shape = ignite(helper);
+        BlockPos inside = shape.getBottomLeft();
+
+        long moved = PendingTeleports.getEntitiesMoved();
+        AtomicReference<Readings> readings = new AtomicReference<>();
+        warmUp(helper, shape, moved)
+                .thenExecute(() -> {
+                    readings.set(Readings.take(server));
+                    for (int i = 0; i < PIGS; i++) {
+                        Pig pig = PortalFixtures.spawnPig(helper, FRAME_CORNER.offset(1 + i % WIDTH, 1, 0));
+                        PortalFixtures.enterPortal(helper, inside, pig);
+                    }
+                })
+                .thenWaitUntil(() -> helper.assertTrue(PendingTeleports.getEntitiesMoved() - moved >= 1 + PIGS,
+                        "Not every pig has travelled yet"))
+                .thenExecute(() -> {
+                    int arrived = PortalFixtures.discardPigs(sky);
+                    PortalFixtures.removeTrip(helper, shape);
+
+                    helper.assertTrue(arrived == PIGS, "Expected " + PIGS + " pigs on the island, found " + arrived);
+                    assertSearch(helper, readings.get());
+                    assertTickBudget(helper, readings.get().tick());
+                })
+                .thenSucceed();
+    }
+
+    @GameTest(template = PortalFixtures.TEMPLATE, batch = "elysianisles_frame_break")
+    public static void frameBreakWithinBudget(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        PortalManager portalManager = PortalManager.get(level);
+        BlockPos framePos = helper.absolutePos(FRAME_CORNER.offset(2, HEIGHT + 1, 0));
+        FrameBreakListener listener = new FrameBreakListener();
+        Player breaker = helper.makeMockPlayer();
+        long indexHits = Metrics.FRAME_INDEX_HITS.get();
+        long adjacentScans = Metrics.FRAME_ADJACENT_SCANS.get();
+
+        // The event leaves the frame block standing, so the same frame is lit again for every run
+        long[] nanos = new long[RUNS];
+        PsionicPortalShape shape = null;
+        for (int run = 0; run < RUNS; run++) {
+            shape = ignite(helper);
+            helper.assertTrue(portalManager.getPortal(level.dimension(), shape.getBottomLeft()) != null,
+                    "The ignited portal was not registered");
+            BlockEvent.BreakEvent event = new BlockEvent.BreakEvent(level, framePos, level.getBlockState(framePos), breaker);
+
+            long start = System.nanoTime();
+            listener.onBlockBreak(event);
+            nanos[run] = System.nanoTime() - start;
+        }
+        assertWithinMillis(helper, "Frame break (median of " + RUNS + ")", median(nanos), FRAME_BREAK_BUDGET_MILLIS);
+
+        // A registered portal has to be found through the frame index, never through the neighbour scan
+        long hits = Metrics.FRAME_INDEX_HITS.get() - indexHits;
+        helper.assertTrue(hits == RUNS, "Expected every frame break to hit the frame index, " + hits + " of " + RUNS + " did");
+        helper.assertTrue(Metrics.FRAME_ADJACENT_SCANS.get() == adjacentScans, "The frame break fell back to a neighbour scan");
+        helper.assertTrue(portalManager.getPortal(level.dimension(), shape.getBottomLeft()) == null,
+                "The portal is still registered after its frame broke");
+        for (BlockPos pos : shape.getInteriorPositions()) {
+            helper.assertTrue(level.getBlockState(pos).isAir(), "Portal block left behind at " + pos);
+        }
+        helper.succeed();
+    }
+
+    private static PsionicPortalShape ignite(GameTestHelper helper) {
+        return PortalFixtures.ignite(helper, FRAME_CORNER, Direction.Axis.X, WIDTH, HEIGHT);
+    }
+
+    /**
+     * Sends a pig through and takes the trip down again, so the timed trip after it searches for and builds its
+     * destination portal warm, instead of paying for class loading and a cold JIT.
+     */
+    private static GameTestSequence warmUp(GameTestHelper helper, PsionicPortalShape shape, long moved) {
+        ServerLevel sky = helper.getLevel().getServer().getLevel(ModDimensions.ELYSIAN_LEVEL_KEY);
+        PortalFixtures.enterPortal(helper, shape.getBottomLeft(), PortalFixtures.spawnPig(helper, FRAME_CORNER.offset(1, 1, 0)));
+        return helper.startSequence()
+                .thenWaitUntil(() -> helper.assertTrue(PendingTeleports.getEntitiesMoved() - moved >= 1,
+                        "The warm-up pig has not travelled yet"))
+                .thenExecute(() -> {
+                    PortalFixtures.discardPigs(sky);
+                    // Unpaired again, the next trip has to search for a destination the same way
+                    PortalFixtures.removeTrip(helper, shape);
+                });
+    }
+
+    /**
+     * Checks that exactly one destination search ran since the readings were taken and that it stayed in budget.
+     */
+    private static void assertSearch(GameTestHelper helper, Readings before) {
+        long ran = Metrics.PORTAL_SEARCH.getCount() - before.searches();
+        helper.assertTrue(ran == 1, "Expected one destination search for the trip, got " + ran);
+        assertWithin(helper, "Destination search block reads", Metrics.PORTAL_SEARCH_BLOCK_READS.getSum() - before.searchReads(), SEARCH_READ_BUDGET);
+        assertWithinMillis(helper, "Destination search", Metrics.PORTAL_SEARCH.getSum() - before.searchNanos(), SEARCH_BUDGET_MILLIS);
+    }
+
+    /**
+     * Checks every server tick from the given one up to the last finished tick against the travel budget.
+     */
+    private static void assertTickBudget(GameTestHelper helper, int sinceTick) {
+        MinecraftServer server = helper.getLevel().getServer();
+        int now = server.getTickCount();
+        long slowest = 0;
+        // The current tick is still running, its slot holds a tick from 100 ticks ago
+        for (int tick = Math.max(sinceTick, now - server.tickTimes.length + 1); tick < now; tick++) {
+            slowest = Math.max(slowest, server.tickTimes[tick % server.tickTimes.length]);
+        }
+        assertWithinMillis(helper, "Slowest tick while travelling", slowest, TRAVEL_TICK_BUDGET_MILLIS);
+    }
+
+    private static void assertWithin(GameTestHelper helper, String what, long value, long budget) {
+        if (value > budget) {
+            helper.fail(what + ": " + value + ", budget is " + budget);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static void assertWithinMillis(GameTestHelper helper, String what, long nanos, long budgetMillis) {
+        if (nanos > budgetMillis * 1_000_000L) {
+            helper.fail(String.format("%s took %.2f ms, budget is %d ms", what, nanos / 1.0E6, budgetMillis));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.discotots.elysianisles.gametest;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import com.discotots.elysianisles.debug.Metrics;
+import com.discotots.elysianisles.init.ModDimensions;
+import com.discotots.elysianisles.world.portal.PendingTeleports;
+import com.discotots.elysianisles.world.portal.PortalManager;
+import com.discotots.elysianisles.world.portal.PortalRecord;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraftforge.gametest.GameTestHolder;
+import net.minecraftforge.gametest.PrefixGameTestTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks that registered portals stay registered while they are still standing, whatever axis they run along.
+ */
+@GameTestHolder(ElysianIslesMod.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class PortalRegistryTests {
+    // Two 2x3 frames running along Z, their northmost bottom corner blocks sit here in the template
+    private static final BlockPos FIRST_CORNER = new BlockPos(1, 1, 0);
+    private static final BlockPos SECOND_CORNER = new BlockPos(5, 1, 0);
+    private static final int WIDTH = 2;
+    private static final int HEIGHT = 3;
+
+    /**
+     * The first trip builds a Z-axis portal on the island. Once that portal is unpaired, the next trip from another
+     * portal has to find it through the registry and reuse it instead of dropping it and building a new one.
+     */
+    @GameTest(template = PortalFixtures.TEMPLATE, batch = "elysianisles_z_axis_destination", timeoutTicks = 600)
+    public static void zAxisDestinationSurvivesSecondTrip(GameTestHelper helper) {
+        ServerLevel level = helper.getLevel();
+        ServerLevel sky = level.getServer().getLevel(ModDimensions.ELYSIAN_LEVEL_KEY);
+        helper.assertTrue(sky != null, "The Elysian dimension is not loaded");
+
+        PortalManager portalManager = PortalManager.get(level);
+        PsionicPortalShape first = PortalFixtures.ignite(helper, FIRST_CORNER, Direction.Axis.Z, WIDTH, HEIGHT);
+        PsionicPortalShape second = PortalFixtures.ignite(helper, SECOND_CORNER, Direction.Axis.Z, WIDTH, HEIGHT);
+        AtomicReference<PortalRecord> destination = new AtomicReference<>();
+
+        long created = Metrics.PORTALS_CREATED.get();
+        long moved = PendingTeleports.getEntitiesMoved();
+        sendPig(helper, first);
+
+        helper.startSequence()
+                .thenWaitUntil(() -> helper.assertTrue(PendingTeleports.getEntitiesMoved() - moved >= 1,
+                        "The first pig has not travelled yet"))
+                .thenExecute(() -> {
+                    PortalRecord source = portalManager.getPortal(level.dimension(), first.getBottomLeft());
+                    PortalRecord target = source != null ? source.getLink() : null;
+                    helper.assertTrue(target != null, "The first portal was not paired with a destination");
+                    helper.assertTrue(target.getAxis() == first.getAxis(), "The destination portal was built along " + target.getAxis());
+                    destination.set(target);
+
+                    // Dropping the first portal leaves the island portal registered but unpaired
+                    portalManager.removePortals(level.dimension(), List.of(first.getBottomLeft()));
+                    sendPig(helper, second);
+                })
+                .thenWaitUntil(() -> helper.assertTrue(PendingTeleports.getEntitiesMoved() - moved >= 2,
+                        "The second pig has not travelled yet"))
+                .thenExecute(() -> {
+                    PortalRecord target = destination.get();
+                    PortalRecord source = portalManager.getPortal(level.dimension(), second.getBottomLeft());
+                    boolean registered = portalManager.getPortal(sky.dimension(), target.getBottomLeft()) == target;
+                    PortalRecord link = source != null ? source.getLink() : null;
+                    long built = Metrics.PORTALS_CREATED.get() - created;
+
+                    // Clean up before checking, so a failure does not leave portals behind for later batches
+                    PortalFixtures.removeTrip(helper, second);
+                    if (link != target) {
+                        PortalFixtures.removePortal(level, target);
+                    }
+                    PortalFixtures.discardPigs(sky);
+
+                    helper.assertTrue(registered, "The Z-axis destination portal was dropped from the registry");
+                    helper.assertTrue(link == target, "The second trip did not reuse the Z-axis destination portal");
+                    helper.assertTrue(built == 1, "Expected one portal to be built on the island, got " + built);
+                })
+                .thenSucceed();
+    }
+
+    private static void sendPig(GameTestHelper helper, PsionicPortalShape shape) {
+        BlockPos inside = shape.getBottomLeft();
+        PortalFixtures.enterPortal(helper, inside, PortalFixtures.spawnPig(helper, helper.relativePos(inside)));
+    }
+}
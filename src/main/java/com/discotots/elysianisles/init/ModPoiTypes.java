@@ -0,0 +1,22 @@
+package com.discotots.elysianisles.init;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.world.entity.ai.village.poi.PoiType;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.registries.DeferredRegister;
+import net.minecraftforge.registries.ForgeRegistries;
+import net.minecraftforge.registries.RegistryObject;
+
+public class ModPoiTypes {
+    public static final DeferredRegister<PoiType> POI_TYPES =
+            DeferredRegister.create(ForgeRegistries.POI_TYPES, ElysianIslesMod.MOD_ID);
+
+    // Every psionic portal block is tracked by the PoiManager, like vanilla nether portals
+    public static final RegistryObject<PoiType> PSIONIC_PORTAL = POI_TYPES.register("psionic_portal",
+            () -> new PoiType(ImmutableSet.copyOf(ModBlocks.PSIONIC_PORTAL.get().getStateDefinition().getPossibleStates()), 0, 1));
+
+    public static void register(IEventBus eventBus) {
+        POI_TYPES.register(eventBus);
+    }
+}
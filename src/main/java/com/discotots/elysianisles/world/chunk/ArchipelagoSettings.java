@@ -0,0 +1,20 @@
+package com.discotots.elysianisles.world.chunk;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Turns the single island into an archipelago: the dimension is split into square cells and every cell
+ * may hold one extra island, placed by a seeded hash of the cell coordinates.
+ * cell_size has to be at least twice the island reach; the generator codec rejects smaller cells.
+ */
+public record ArchipelagoSettings(int cellSize, float chance, long seed, int heightVariation) {
+    public static final Codec<ArchipelagoSettings> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    Codec.intRange(64, 65536).optionalFieldOf("cell_size", 1024).forGetter(ArchipelagoSettings::cellSize),
+                    Codec.floatRange(0.0F, 1.0F).optionalFieldOf("chance", 0.5F).forGetter(ArchipelagoSettings::chance),
+                    Codec.LONG.optionalFieldOf("seed", 0L).forGetter(ArchipelagoSettings::seed),
+                    Codec.intRange(0, 64).optionalFieldOf("height_variation", 16).forGetter(ArchipelagoSettings::heightVariation)
+            ).apply(instance, ArchipelagoSettings::new)
+    );
+}
@@ -0,0 +1,102 @@
+package com.discotots.elysianisles.world.chunk;
+
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Bounded caches behind getBaseHeight and getBaseColumn, which structure placement and locate-style
+ * queries hit many times for the same columns.
+ * Positions map to a packed {@link IslandColumn}, and every distinct packed column maps to one cached
+ * block array, so identical columns (including all the air around the island) are only built once.
+ * NoiseColumn has no read-only form, so every caller gets its own copy of the array and writes to it
+ * cannot reach the cache.
+ */
+class BaseColumnCache {
+    private static final long MISSING = -1L;
+    private static final int MAX_POSITIONS = 8192;
+    private static final int MAX_COLUMNS = 2048;
+
+    interface Resolver {
+        /**
+         * Resolves the packed column at a block position, see {@link IslandColumn#pack()}.
+         */
+        long resolve(int x, int z);
+    }
+
+    private final Resolver resolver;
+    private final Long2LongLinkedOpenHashMap positions = new Long2LongLinkedOpenHashMap();
+    private final Long2ObjectLinkedOpenHashMap<BlockState[]> columns = new Long2ObjectLinkedOpenHashMap<>();
+
+    // Columns are only valid for the height range they were built for
+    private int columnMinY;
+    private int columnHeight;
+    private BlockState[] airColumn;
+
+    BaseColumnCache(Resolver resolver) {
+        this.resolver = resolver;
+        this.positions.defaultReturnValue(MISSING);
+    }
+
+    long packedColumn(int x, int z) {
+        long key = ChunkPos.asLong(x, z);
+        synchronized (this.positions) {
+            long packed = this.positions.getAndMoveToFirst(key);
+            if (packed != MISSING) return packed;
+        }
+
+        long packed = this.resolver.resolve(x, z);
+        synchronized (this.positions) {
+            if (this.positions.size() >= MAX_POSITIONS) {
+                this.positions.removeLastLong();
+            }
+            this.positions.putAndMoveToFirst(key, packed);
+        }
+        return packed;
+    }
+
+    /**
+     * A fresh copy of the blocks of a packed column, from level.getMinBuildHeight() up.
+     */
+    BlockState[] states(long packed, LevelHeightAccessor level) {
+        return template(packed, level).clone();
+    }
+
+    private BlockState[] template(long packed, LevelHeightAccessor level) {
+        synchronized (this.columns) {
+            if (level.getMinBuildHeight() != this.columnMinY || level.getHeight() != this.columnHeight || this.airColumn == null) {
+                this.columns.clear();
+                this.columnMinY = level.getMinBuildHeight();
+                this.columnHeight = level.getHeight();
+                this.airColumn = build(0L, level);
+            }
+            if (packed == 0L) return this.airColumn;
+
+            BlockState[] column = this.columns.getAndMoveToFirst(packed);
+            if (column == null) {
+                column = build(packed, level);
+                if (this.columns.size() >= MAX_COLUMNS) {
+                    this.columns.removeLast();
+                }
+                this.columns.putAndMoveToFirst(packed, column);
+            }
+            return column;
+        }
+    }
+
+    private static BlockState[] build(long packed, LevelHeightAccessor level) {
+        IslandColumn column = new IslandColumn();
+        column.unpack(packed);
+
+        BlockState air = Blocks.AIR.defaultBlockState();
+        BlockState[] states = new BlockState[level.getHeight()];
+        for (int i = 0; i < states.length; i++) {
+            BlockState state = column.stateAt(level.getMinBuildHeight() + i);
+            states[i] = state != null ? state : air;
+        }
+        return states;
+    }
+}
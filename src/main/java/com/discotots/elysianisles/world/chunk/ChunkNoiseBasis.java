@@ -0,0 +1,102 @@
+package com.discotots.elysianisles.world.chunk;
+
+import com.discotots.elysianisles.world.noise.TrigKernel;
+
+/**
+ * The separable factors of the island noise for one 16x16 tile.
+ * Terms like sin(a * x) * cos(b * z) only have 16 distinct X and 16 distinct Z factors per chunk, so those
+ * factors are evaluated once per tile here and the per-column noise just multiplies them together.
+ * Each factor is computed exactly as the per-column formula would, so the result is bit-identical.
+ * In seeded mode the waves are shifted by a per-world offset; with no offset they are the classic waves.
+ */
+class ChunkNoiseBasis {
+    private final TrigKernel trig;
+    private final double offsetX;
+    private final double offsetZ;
+    private int minX;
+    private int minZ;
+
+    // Shape: chaos waves and fractal noise
+    final double[] chaosX = new double[16];
+    final double[] chaosZ = new double[16];
+    final double[] fineX = new double[16];        // sin(x * 0.2), also used by the terrain fine detail
+    final double[] fineZ = new double[16];        // cos(z * 0.18)
+    final double[] fractalX = new double[16];     // sin(x * 0.3), also used by the bedrock noise
+    final double[] fractalZ = new double[16];     // cos(z * 0.25)
+
+    // Terrain height
+    final double[] hillsX = new double[16];
+    final double[] hillsZ = new double[16];
+    final double[] mediumX = new double[16];      // sin(x * 0.12), shared with the bottom noise
+    final double[] mediumZ = new double[16];      // cos(z * 0.11)
+    final double[] cliffX = new double[16];
+    final double[] cliffZ = new double[16];
+
+    // Ponds
+    final double[] pondX = new double[16];
+    final double[] pondZ = new double[16];
+
+    // Irregular bottom
+    final double[] largeX = new double[16];
+    final double[] largeZ = new double[16];
+    final double[] largeOffsetX = new double[16];
+    final double[] largeOffsetZ = new double[16];
+    final double[] mediumOffsetX = new double[16];
+    final double[] mediumOffsetZ = new double[16];
+    final double[] bottomFineX = new double[16];
+    final double[] bottomFineZ = new double[16];
+    final double[] bottomFineOffsetX = new double[16];
+    final double[] bottomFineOffsetZ = new double[16];
+
+    ChunkNoiseBasis(TrigKernel trig, double offsetX, double offsetZ) {
+        this.trig = trig;
+        this.offsetX = offsetX;
+        this.offsetZ = offsetZ;
+    }
+
+    /**
+     * Re-evaluates every factor vector for the tile starting at (minX, minZ).
+     */
+    void setOrigin(int minX, int minZ) {
+        this.minX = minX;
+        this.minZ = minZ;
+
+        for (int i = 0; i < 16; i++) {
+            double worldX = minX + i + this.offsetX;
+            this.chaosX[i] = this.trig.sin(worldX * 0.08) * 15 + this.trig.sin(worldX * 0.15) * 8;
+            this.fineX[i] = this.trig.sin(worldX * 0.2);
+            this.fractalX[i] = this.trig.sin(worldX * 0.3);
+            this.hillsX[i] = this.trig.sin(worldX * 0.06);
+            this.mediumX[i] = this.trig.sin(worldX * 0.12);
+            this.cliffX[i] = this.trig.sin(worldX * 0.03);
+            this.pondX[i] = this.trig.sin(worldX * 0.08);
+            this.largeX[i] = this.trig.sin(worldX * 0.05);
+            this.largeOffsetX[i] = this.trig.sin(worldX * 0.03 + 100);
+            this.mediumOffsetX[i] = this.trig.sin(worldX * 0.15 + 200);
+            this.bottomFineX[i] = this.trig.sin(worldX * 0.25);
+            this.bottomFineOffsetX[i] = this.trig.sin(worldX * 0.35 + 300);
+
+            double worldZ = minZ + i + this.offsetZ;
+            this.chaosZ[i] = this.trig.sin(worldZ * 0.07) * 18 + this.trig.sin(worldZ * 0.13) * 10;
+            this.fineZ[i] = this.trig.cos(worldZ * 0.18);
+            this.fractalZ[i] = this.trig.cos(worldZ * 0.25);
+            this.hillsZ[i] = this.trig.cos(worldZ * 0.05);
+            this.mediumZ[i] = this.trig.cos(worldZ * 0.11);
+            this.cliffZ[i] = this.trig.cos(worldZ * 0.025);
+            this.pondZ[i] = this.trig.cos(worldZ * 0.07);
+            this.largeZ[i] = this.trig.cos(worldZ * 0.04);
+            this.largeOffsetZ[i] = this.trig.cos(worldZ * 0.06 + 50);
+            this.mediumOffsetZ[i] = this.trig.cos(worldZ * 0.13 + 150);
+            this.bottomFineZ[i] = this.trig.cos(worldZ * 0.23);
+            this.bottomFineOffsetZ[i] = this.trig.cos(worldZ * 0.28 + 250);
+        }
+    }
+
+    int minX() {
+        return this.minX;
+    }
+
+    int minZ() {
+        return this.minZ;
+    }
+}
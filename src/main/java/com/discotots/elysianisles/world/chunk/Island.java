@@ -0,0 +1,8 @@
+package com.discotots.elysianisles.world.chunk;
+
+/**
+ * One island of the dimension. The home island is the configured one and is served from the raster,
+ * every other island is evaluated per chunk.
+ */
+record Island(int centerX, int centerZ, int baseHeight, boolean home) {
+}
@@ -1,8 +1,14 @@
 package com.discotots.elysianisles.world.chunk;
 
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Metrics;
+import com.discotots.elysianisles.world.noise.NoiseMode;
+import com.discotots.elysianisles.world.noise.TrigKernel;
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.RegistryOps;
 import net.minecraft.server.level.WorldGenRegion;
@@ -18,29 +24,106 @@ import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.ChunkAccess;
 import net.minecraft.world.level.chunk.ChunkGenerator;
 import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.level.levelgen.GenerationStep;
 import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraft.world.level.levelgen.RandomState;
 import net.minecraft.world.level.levelgen.blending.Blender;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class IslandChunkGenerator extends ChunkGenerator {
     public static final Codec<IslandChunkGenerator> CODEC = RecordCodecBuilder.create(instance ->
             instance.group(
-                    BiomeSource.CODEC.fieldOf("biome_source").forGetter(generator -> generator.biomeSource)
+                    BiomeSource.CODEC.fieldOf("biome_source").forGetter(generator -> generator.biomeSource),
+                    TrigKernel.CODEC.optionalFieldOf("trig", TrigKernel.EXACT).forGetter(generator -> generator.trig),
+                    IslandSettings.CODEC.optionalFieldOf("settings", IslandSettings.DEFAULT).forGetter(generator -> generator.settings),
+                    ArchipelagoSettings.CODEC.optionalFieldOf("archipelago").forGetter(generator -> generator.archipelago),
+                    NoiseMode.CODEC.optionalFieldOf("noise", NoiseMode.CLASSIC).forGetter(generator -> generator.noiseMode)
             ).apply(instance, instance.stable(IslandChunkGenerator::new))
-    );
+    ).flatXmap(IslandChunkGenerator::validate, IslandChunkGenerator::validate);
 
-    private static final int ISLAND_CENTER_X = 8;
-    private static final int ISLAND_CENTER_Z = -5;
-    private static final int ISLAND_BASE_HEIGHT = 72;
-    private static final int STRUCTURE_BLOCKING_RADIUS = 300;
+    // Largest radius calculateJaggedBlobShape can reach: the base radius plus the amplitude of every wave on top of it.
+    private static final int MAX_ISLAND_RADIUS = 90 + (35 + 20 + 12) + (15 + 8) + (18 + 10) + (8 + 5);
 
-    public IslandChunkGenerator(BiomeSource biomeSource) {
+    // Chunks that were returned straight away because they cannot touch any island.
+    private final AtomicLong emptyChunks = new AtomicLong();
+    // Set once the configured vertical range has been compared with the level the chunks belong to.
+    private final AtomicBoolean heightChecked = new AtomicBoolean();
+
+    // Every column that can hold home island terrain, resolved once up front (once the seed is known in seeded mode).
+    private volatile IslandRaster raster;
+    private final Island home;
+    private final IslandLayout layout;
+    private final BaseColumnCache baseColumns = new BaseColumnCache(this::resolvePackedColumn);
+
+    // Null in classic mode
+    private volatile IslandNoise noise;
+
+    // Per-thread buffers reused by every chunk a worker generates
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(newBasis()));
+
+    // Worlds without a "trig" setting keep the exact kernel so existing islands generate unchanged.
+    private final TrigKernel trig;
+    private final IslandSettings settings;
+    private final Optional<ArchipelagoSettings> archipelago;
+    private final NoiseMode noiseMode;
+
+    public IslandChunkGenerator(BiomeSource biomeSource, TrigKernel trig, IslandSettings settings,
+                                Optional<ArchipelagoSettings> archipelago, NoiseMode noiseMode) {
         super(biomeSource);
+        this.trig = trig;
+        this.settings = settings;
+        this.archipelago = archipelago;
+        this.noiseMode = noiseMode;
+
+        this.home = new Island(settings.centerX(), settings.centerZ(), settings.baseHeight(), true);
+        this.layout = new IslandLayout(this.home, archipelago.orElse(null), getIslandRadius());
+        if (noiseMode == NoiseMode.CLASSIC) {
+            this.raster = buildRaster();
+        }
+    }
+
+    /**
+     * Archipelago cells have to fit a whole island with room to spare on every side, or neighbouring islands merge.
+     */
+    private static DataResult<IslandChunkGenerator> validate(IslandChunkGenerator generator) {
+        if (generator.archipelago.isPresent() && generator.archipelago.get().cellSize() < 2 * generator.getIslandRadius()) {
+            return DataResult.error(() -> "Archipelago cell_size must be at least " + 2 * generator.getIslandRadius()
+                    + " (twice the island reach) for these island settings");
+        }
+        return DataResult.success(generator);
+    }
+
+    /**
+     * Seeded mode can only build the noise and raster once the level's RandomState is known.
+     */
+    private void prepare(RandomState randomState) {
+        if (this.raster != null) return;
+        synchronized (this) {
+            if (this.raster == null) {
+                this.noise = IslandNoise.create(randomState);
+                this.raster = buildRaster();
+            }
+        }
+    }
+
+    private IslandRaster buildRaster() {
+        return new IslandRaster(this.settings.centerX(), this.settings.centerZ(), getIslandRadius(), newBasis(),
+                (column, basis, localX, localZ) -> resolveColumn(column, basis, localX, localZ, this.home));
+    }
+
+    private ChunkNoiseBasis newBasis() {
+        IslandNoise noise = this.noise;
+        return noise != null
+                ? new ChunkNoiseBasis(this.trig, noise.offsetX(), noise.offsetZ())
+                : new ChunkNoiseBasis(this.trig, 0, 0);
     }
 
     /**
@@ -74,155 +157,304 @@ public class IslandChunkGenerator extends ChunkGenerator {
 
     @Override
     public int getGenDepth() {
-        return 384;
+        return this.settings.height();
     }
 
     @Override
     public CompletableFuture<ChunkAccess> fillFromNoise(Executor executor, Blender blender, RandomState randomState, StructureManager structureManager, ChunkAccess chunk) {
+        prepare(randomState);
+        checkDimensionHeight(chunk);
+
+        // Conservative chunk-level test: only islands whose reach overlaps this chunk are considered
+        ChunkPos chunkPos = chunk.getPos();
+        List<Island> islands = new ArrayList<>(2);
+        this.layout.collect(chunkPos.getMinBlockX(), chunkPos.getMinBlockZ(), chunkPos.getMaxBlockX(), chunkPos.getMaxBlockZ(), islands);
+
+        if (islands.isEmpty()) {
+            // Nothing to write, the proto chunk is already empty air
+            this.emptyChunks.incrementAndGet();
+            Metrics.EMPTY_CHUNKS.increment();
+            return CompletableFuture.completedFuture(chunk);
+        }
+
         return CompletableFuture.supplyAsync(() -> {
-            generateIsland(chunk);
+            long start = System.nanoTime();
+            generateIsland(chunk, islands);
+            Metrics.CHUNK_FILL.recordSince(start);
             return chunk;
         }, executor);
     }
 
-    private void generateIsland(ChunkAccess chunk) {
+    /**
+     * min_y and height have to match the dimension type, the generator cannot change the level's build range.
+     * A mismatch is reported once instead of failing, the island is still clipped to whichever range is smaller.
+     */
+    private void checkDimensionHeight(LevelHeightAccessor level) {
+        if (this.heightChecked.getAndSet(true)) return;
+        if (level.getMinBuildHeight() != this.settings.minY() || level.getHeight() != this.settings.height()) {
+            ElysianIslesMod.LOGGER.warn("Island settings use min_y {} and height {} but the dimension type has min_y {} and height {}, "
+                            + "change both together",
+                    this.settings.minY(), this.settings.height(), level.getMinBuildHeight(), level.getHeight());
+        }
+    }
+
+    public IslandSettings getSettings() {
+        return this.settings;
+    }
+
+    public int getIslandCenterX() {
+        return this.settings.centerX();
+    }
+
+    public int getIslandCenterZ() {
+        return this.settings.centerZ();
+    }
+
+    /**
+     * Furthest distance from an island center that can contain island blocks.
+     */
+    public int getIslandRadius() {
+        return Math.min(this.settings.blockingRadius(), MAX_ISLAND_RADIUS);
+    }
+
+    /**
+     * Number of chunks that skipped generation entirely because they lie outside every island's reach.
+     */
+    public long getEmptyChunkCount() {
+        return this.emptyChunks.get();
+    }
+
+    private void generateIsland(ChunkAccess chunk, List<Island> islands) {
         ChunkPos chunkPos = chunk.getPos();
+        Scratch scratch = this.scratch.get();
+        ChunkNoiseBasis basis = basisFor(scratch, islands, chunkPos.getMinBlockX(), chunkPos.getMinBlockZ());
+        IslandColumn[] columns = scratch.columns;
+        int lowestY = Integer.MAX_VALUE;
+        int highestY = Integer.MIN_VALUE;
 
         for (int x = 0; x < 16; x++) {
             for (int z = 0; z < 16; z++) {
-                int worldX = chunkPos.getMinBlockX() + x;
-                int worldZ = chunkPos.getMinBlockZ() + z;
-
-                generateColumn(chunk, x, z, worldX, worldZ);
+                IslandColumn column = columns[x * 16 + z];
+                sampleColumn(column, scratch.column, islands, basis, chunkPos.getMinBlockX(), chunkPos.getMinBlockZ(), x, z);
+                lowestY = Math.min(lowestY, column.minWrittenY());
+                highestY = Math.max(highestY, column.maxWrittenY());
             }
         }
-    }
 
-    private void generateColumn(ChunkAccess chunk, int localX, int localZ, int worldX, int worldZ) {
-        // Create very jagged, blob-like island shape
-        double islandShape = calculateJaggedBlobShape(worldX, worldZ);
+        // A fresh proto chunk is already all air, so only sections the island reaches are touched.
+        if (lowestY > highestY) {
+            return;
+        }
 
-        // Calculate distance from island center
-        double dx = worldX - ISLAND_CENTER_X;
-        double dz = worldZ - ISLAND_CENTER_Z;
-        double distanceFromCenter = Math.sqrt(dx * dx + dz * dz);
+        // Only the configured vertical range is ever generated
+        int minY = Math.max(chunk.getMinBuildHeight(), this.settings.minY());
+        int maxY = Math.min(chunk.getMaxBuildHeight(), this.settings.maxY());
+        lowestY = Math.max(lowestY, minY);
+        highestY = Math.min(highestY, maxY - 1);
+        if (lowestY > highestY) {
+            return;
+        }
 
-        // This logic is fine for creating the island and clearing the area around it.
-        // It ensures no vanilla terrain or features can spawn near your island.
-        if (distanceFromCenter < STRUCTURE_BLOCKING_RADIUS) {
-            if (islandShape <= 0) {
-                // Outside island but near it - fill completely with air
-                for (int y = chunk.getMinBuildHeight(); y < chunk.getMaxBuildHeight(); y++) {
-                    chunk.setBlockState(new BlockPos(localX, y, localZ), Blocks.AIR.defaultBlockState(), false);
+        int minSection = chunk.getSectionIndex(lowestY);
+        int maxSection = chunk.getSectionIndex(highestY);
+        for (int sectionIndex = minSection; sectionIndex <= maxSection; sectionIndex++) {
+            LevelChunkSection section = chunk.getSection(sectionIndex);
+            int sectionMinY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(sectionIndex));
+            for (int x = 0; x < 16; x++) {
+                for (int z = 0; z < 16; z++) {
+                    columns[x * 16 + z].fill(section, x, z, sectionMinY);
+                    if (this.noise != null) {
+                        placeOres(section, columns[x * 16 + z], x, z, chunkPos.getMinBlockX() + x, chunkPos.getMinBlockZ() + z, sectionMinY);
+                    }
                 }
-                return;
             }
+        }
 
-            // Inside island - generate normal terrain
-            int terrainHeight = calculateRealisticTerrainHeight(worldX, worldZ, islandShape);
-
-            for (int y = chunk.getMinBuildHeight(); y < chunk.getMaxBuildHeight(); y++) {
-                BlockState block = getBlockAt(y, terrainHeight, worldX, worldZ, islandShape);
-                if (block != null) {
-                    chunk.setBlockState(new BlockPos(localX, y, localZ), block, false);
-                } else {
-                    chunk.setBlockState(new BlockPos(localX, y, localZ), Blocks.AIR.defaultBlockState(), false);
+        // Writing sections directly bypasses ProtoChunk's heightmap tracking, so update the worldgen heightmaps here.
+        Heightmap oceanFloor = chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.OCEAN_FLOOR_WG);
+        Heightmap worldSurface = chunk.getOrCreateHeightmapUnprimed(Heightmap.Types.WORLD_SURFACE_WG);
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                IslandColumn column = columns[x * 16 + z];
+                int topY = column.maxWrittenY();
+                if (topY < minY || topY >= maxY) continue;
+
+                for (int y = topY; y >= Math.max(topY - 1, minY); y--) {
+                    BlockState state = column.stateAt(y);
+                    if (state != null) {
+                        oceanFloor.update(x, y, z, state);
+                        worldSurface.update(x, y, z, state);
+                    }
                 }
             }
+        }
+    }
 
-            addSmallWaterFeatures(chunk, localX, localZ, worldX, worldZ, terrainHeight);
-        } else {
-            // Far from island - fill with air to prevent any generation
-            for (int y = chunk.getMinBuildHeight(); y < chunk.getMaxBuildHeight(); y++) {
-                chunk.setBlockState(new BlockPos(localX, y, localZ), Blocks.AIR.defaultBlockState(), false);
+    /**
+     * Seeded mode rolls ores per block over the stone layer the fill just wrote, so veins no longer run
+     * straight through the whole layer.
+     */
+    private void placeOres(LevelChunkSection section, IslandColumn column, int localX, int localZ, int worldX, int worldZ, int sectionMinY) {
+        if (!column.solid) return;
+        int fromY = Math.max(Math.max(column.bottom, column.top - 12), sectionMinY);
+        int toY = Math.min(column.top - 3, sectionMinY + 16);
+        for (int y = fromY; y < toY; y++) {
+            BlockState ore = this.noise.oreAt(worldX, y, worldZ, this.settings.ores());
+            if (ore != null) {
+                section.setBlockState(localX, y - sectionMinY, localZ, ore, false);
+            }
+        }
+    }
+
+    /**
+     * Islands other than the home island are evaluated from a per-tile noise basis, the home island never needs one.
+     */
+    private ChunkNoiseBasis basisFor(Scratch scratch, List<Island> islands, int tileMinX, int tileMinZ) {
+        for (Island island : islands) {
+            if (!island.home()) {
+                scratch.basis.setOrigin(tileMinX, tileMinZ);
+                return scratch.basis;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves one column against every island that reaches it. Where islands overlap, the one whose
+     * shape is strongest at this column wins.
+     */
+    private void sampleColumn(IslandColumn column, IslandColumn scratch, List<Island> islands, ChunkNoiseBasis basis,
+                              int tileMinX, int tileMinZ, int localX, int localZ) {
+        int worldX = tileMinX + localX;
+        int worldZ = tileMinZ + localZ;
+        column.clear();
+        double bestShape = 0;
+
+        for (Island island : islands) {
+            double shape;
+            if (island.home()) {
+                // The raster covers everything the home island can reach, anything beyond it is air.
+                if (!this.raster.contains(worldX, worldZ)) continue;
+                this.raster.load(scratch, worldX, worldZ);
+                shape = this.raster.shapeAt(worldX, worldZ);
+            } else {
+                shape = resolveColumn(scratch, basis, localX, localZ, island);
+            }
+
+            if (scratch.solid && (!column.solid || shape > bestShape)) {
+                column.copyFrom(scratch);
+                bestShape = shape;
             }
         }
     }
 
-    // --- [The rest of your file remains the same] ---
-    // calculateJaggedBlobShape, calculateRealisticTerrainHeight, addSmallWaterFeatures,
-    // getBlockAt, calculateIrregularBottom, getSeaLevel, getMinY, getBaseHeight,
-    // getBaseColumn, and addDebugScreenInfo methods are unchanged.
+    /**
+     * Runs the full shape/height/bottom noise of one island for one column of a tile.
+     */
+    private double resolveColumn(IslandColumn column, ChunkNoiseBasis basis, int localX, int localZ, Island island) {
+        column.clear();
+        int worldX = basis.minX() + localX;
+        int worldZ = basis.minZ() + localZ;
+
+        // Create very jagged, blob-like island shape
+        double islandShape = calculateJaggedBlobShape(basis, localX, localZ, island);
 
-    private double calculateJaggedBlobShape(int worldX, int worldZ) {
-        double dx = worldX - ISLAND_CENTER_X;
-        double dz = worldZ - ISLAND_CENTER_Z;
+        // Calculate distance from island center
+        double dx = worldX - island.centerX();
+        double dz = worldZ - island.centerZ();
+        double distanceFromCenter = Math.sqrt(dx * dx + dz * dz);
+
+        // Everything outside the island, near it or far from it, stays air.
+        if (distanceFromCenter >= this.settings.blockingRadius() || islandShape <= 0) {
+            return islandShape;
+        }
+
+        // Inside island - generate normal terrain
+        int terrainHeight = calculateRealisticTerrainHeight(basis, localX, localZ, islandShape, island);
+        double bottomCutoff = calculateIrregularBottom(basis, localX, localZ, islandShape, terrainHeight);
+
+        column.solid = true;
+        column.top = terrainHeight;
+        column.bottom = (int) Math.ceil(bottomCutoff);
+
+        double bedrockNoise = basis.fractalX[localX] * basis.fractalZ[localZ] * 2;
+        column.crustTop = (int) Math.ceil(bottomCutoff + 3 + bedrockNoise);
+        double edgeDistance = Math.max(0, islandShape / 30.0);
+        column.crustState = this.trig.sin(worldX * 0.5 + worldZ * 0.7) > (0.3 - edgeDistance * 0.4)
+                ? Blocks.BEDROCK.defaultBlockState()
+                : Blocks.STONE.defaultBlockState();
+        column.oreState = this.noise != null ? Blocks.STONE.defaultBlockState() : getOreAt(worldX, worldZ);
+        column.pond = isPondAt(basis, localX, localZ, island);
+        return islandShape;
+    }
+
+    private double calculateJaggedBlobShape(ChunkNoiseBasis basis, int localX, int localZ, Island island) {
+        double dx = basis.minX() + localX - island.centerX();
+        double dz = basis.minZ() + localZ - island.centerZ();
         double distance = Math.sqrt(dx * dx + dz * dz);
         double baseRadius = 90;
-        double angle = Math.atan2(dz, dx);
-        double largeJags = Math.sin(angle * 6) * 35 + Math.sin(angle * 12) * 20 + Math.sin(angle * 18) * 12;
-        double chaosX = Math.sin(worldX * 0.08) * 15 + Math.sin(worldX * 0.15) * 8;
-        double chaosZ = Math.sin(worldZ * 0.07) * 18 + Math.sin(worldZ * 0.13) * 10;
-        double totalChaos = largeJags + chaosX + chaosZ;
+        double largeJags;
+        if (this.noise != null) {
+            largeJags = this.noise.jags(dx, dz, distance);
+        } else {
+            double angle = this.trig.atan2(dz, dx);
+            largeJags = this.trig.sin(angle * 6) * 35 + this.trig.sin(angle * 12) * 20 + this.trig.sin(angle * 18) * 12;
+        }
+        double totalChaos = largeJags + basis.chaosX[localX] + basis.chaosZ[localZ];
         double actualRadius = baseRadius + totalChaos;
-        double fractalNoise = Math.sin(worldX * 0.2) * Math.cos(worldZ * 0.18) * 8 + Math.sin(worldX * 0.3) * Math.cos(worldZ * 0.25) * 5;
+        double fractalNoise = basis.fineX[localX] * basis.fineZ[localZ] * 8 + basis.fractalX[localX] * basis.fractalZ[localZ] * 5;
         actualRadius += fractalNoise;
         actualRadius = Math.max(20, actualRadius);
         return actualRadius - distance;
     }
 
-    private int calculateRealisticTerrainHeight(int worldX, int worldZ, double islandShape) {
+    private int calculateRealisticTerrainHeight(ChunkNoiseBasis basis, int localX, int localZ, double islandShape, Island island) {
         double heightFromShape = Math.max(0, islandShape / 120.0) * 12;
-        double hills = Math.sin(worldX * 0.06) * Math.cos(worldZ * 0.05) * 4;
-        double mediumTerrain = Math.sin(worldX * 0.12) * Math.cos(worldZ * 0.11) * 2;
-        double fineTerrain = Math.sin(worldX * 0.2) * Math.cos(worldZ * 0.18) * 1;
-        double cliffNoise = Math.sin(worldX * 0.03) * Math.cos(worldZ * 0.025);
+        double hills = basis.hillsX[localX] * basis.hillsZ[localZ] * 4;
+        double mediumTerrain = basis.mediumX[localX] * basis.mediumZ[localZ] * 2;
+        double fineTerrain = basis.fineX[localX] * basis.fineZ[localZ] * 1;
+        double cliffNoise = basis.cliffX[localX] * basis.cliffZ[localZ];
         double cliffHeight = 0;
         if (cliffNoise > 0.6 && islandShape > 0.3) {
             cliffHeight = (cliffNoise - 0.6) * 8;
         }
-        int finalHeight = ISLAND_BASE_HEIGHT + (int)(heightFromShape + hills + mediumTerrain + fineTerrain + cliffHeight);
-        return Math.max(ISLAND_BASE_HEIGHT - 2, Math.min(ISLAND_BASE_HEIGHT + 18, finalHeight));
+        int baseHeight = island.baseHeight();
+        int finalHeight = baseHeight + (int)(heightFromShape + hills + mediumTerrain + fineTerrain + cliffHeight);
+        return Math.max(baseHeight - 2, Math.min(baseHeight + 18, finalHeight));
     }
 
-    private void addSmallWaterFeatures(ChunkAccess chunk, int localX, int localZ, int worldX, int worldZ, int terrainHeight) {
-        double pondNoise = Math.sin(worldX * 0.08) * Math.cos(worldZ * 0.07);
-        boolean isPondArea = (pondNoise > 0.8 && Math.abs(worldX - 15) < 3 && Math.abs(worldZ + 10) < 3);
-        if (isPondArea) {
-            chunk.setBlockState(new BlockPos(localX, terrainHeight, localZ), Blocks.WATER.defaultBlockState(), false);
-        }
+    private boolean isPondAt(ChunkNoiseBasis basis, int localX, int localZ, Island island) {
+        int worldX = basis.minX() + localX;
+        int worldZ = basis.minZ() + localZ;
+        double pondNoise = basis.pondX[localX] * basis.pondZ[localZ];
+        // The pond sits just off the island center
+        int pondX = island.centerX() + 7;
+        int pondZ = island.centerZ() - 5;
+        return pondNoise > 0.8 && Math.abs(worldX - pondX) < 3 && Math.abs(worldZ - pondZ) < 3;
     }
 
-    private BlockState getBlockAt(int y, int terrainHeight, int worldX, int worldZ, double islandShape) {
-        double bottomCutoff = calculateIrregularBottom(worldX, worldZ, islandShape, terrainHeight);
-        if (y < bottomCutoff) {
-            return null;
-        } else if (y < terrainHeight - 12) {
-            double bedrockNoise = Math.sin(worldX * 0.3) * Math.cos(worldZ * 0.25) * 2;
-            if (y < bottomCutoff + 3 + bedrockNoise) {
-                double edgeDistance = Math.max(0, islandShape / 30.0);
-                if (Math.sin(worldX * 0.5 + worldZ * 0.7) > (0.3 - edgeDistance * 0.4)) {
-                    return Blocks.BEDROCK.defaultBlockState();
-                } else {
-                    return Blocks.STONE.defaultBlockState();
-                }
-            }
-            return Blocks.BEDROCK.defaultBlockState();
-        } else if (y < terrainHeight - 3) {
-            int combinedCoord = Math.abs(worldX * 31 + worldZ * 17);
-            if (combinedCoord % 25 == 0) {
-                return Blocks.COAL_ORE.defaultBlockState();
-            } else if (combinedCoord % 70 == 0) {
-                return Blocks.IRON_ORE.defaultBlockState();
-            } else if (combinedCoord % 140 == 0) {
-                return Blocks.GOLD_ORE.defaultBlockState();
-            } else if (combinedCoord % 280 == 0) {
-                return Blocks.DIAMOND_ORE.defaultBlockState();
-            }
-            return Blocks.STONE.defaultBlockState();
-        } else if (y < terrainHeight) {
-            return Blocks.DIRT.defaultBlockState();
-        } else if (y == terrainHeight) {
-            return Blocks.GRASS_BLOCK.defaultBlockState();
+    private BlockState getOreAt(int worldX, int worldZ) {
+        IslandSettings.OreFrequencies ores = this.settings.ores();
+        int combinedCoord = Math.abs(worldX * 31 + worldZ * 17);
+        if (combinedCoord % ores.coal() == 0) {
+            return Blocks.COAL_ORE.defaultBlockState();
+        } else if (combinedCoord % ores.iron() == 0) {
+            return Blocks.IRON_ORE.defaultBlockState();
+        } else if (combinedCoord % ores.gold() == 0) {
+            return Blocks.GOLD_ORE.defaultBlockState();
+        } else if (combinedCoord % ores.diamond() == 0) {
+            return Blocks.DIAMOND_ORE.defaultBlockState();
         }
-        return null;
+        return Blocks.STONE.defaultBlockState();
     }
 
-    private double calculateIrregularBottom(int worldX, int worldZ, double islandShape, int terrainHeight) {
+    private double calculateIrregularBottom(ChunkNoiseBasis basis, int localX, int localZ, double islandShape, int terrainHeight) {
+        int worldX = basis.minX() + localX;
+        int worldZ = basis.minZ() + localZ;
         double baseBottom = terrainHeight - 15;
-        double largeNoise = Math.sin(worldX * 0.05) * Math.cos(worldZ * 0.04) * 8 + Math.sin(worldX * 0.03 + 100) * Math.cos(worldZ * 0.06 + 50) * 6;
-        double mediumNoise = Math.sin(worldX * 0.12) * Math.cos(worldZ * 0.11) * 4 + Math.sin(worldX * 0.15 + 200) * Math.cos(worldZ * 0.13 + 150) * 3;
-        double fineNoise = Math.sin(worldX * 0.25) * Math.cos(worldZ * 0.23) * 2 + Math.sin(worldX * 0.35 + 300) * Math.cos(worldZ * 0.28 + 250) * 1.5;
+        double largeNoise = basis.largeX[localX] * basis.largeZ[localZ] * 8 + basis.largeOffsetX[localX] * basis.largeOffsetZ[localZ] * 6;
+        double mediumNoise = basis.mediumX[localX] * basis.mediumZ[localZ] * 4 + basis.mediumOffsetX[localX] * basis.mediumOffsetZ[localZ] * 3;
+        double fineNoise = basis.bottomFineX[localX] * basis.bottomFineZ[localZ] * 2 + basis.bottomFineOffsetX[localX] * basis.bottomFineOffsetZ[localZ] * 1.5;
         double distanceFactor;
         if (islandShape > 50) {
             distanceFactor = 0.2;
@@ -233,10 +465,10 @@ public class IslandChunkGenerator extends ChunkGenerator {
         }
         double totalVariation = (largeNoise + mediumNoise + fineNoise) * distanceFactor;
         if (islandShape < 20) {
-            double edgeCutting = Math.sin(worldX * 0.08 + worldZ * 0.07) * (20 - islandShape) * 0.8;
+            double edgeCutting = this.trig.sin(worldX * 0.08 + worldZ * 0.07) * (20 - islandShape) * 0.8;
             totalVariation += edgeCutting;
         }
-        double dramaticCuts = Math.sin(worldX * 0.02 + worldZ * 0.03) * Math.cos(worldX * 0.045 + worldZ * 0.038);
+        double dramaticCuts = this.trig.sin(worldX * 0.02 + worldZ * 0.03) * this.trig.cos(worldX * 0.045 + worldZ * 0.038);
         if (dramaticCuts > 0.7 && islandShape < 40) {
             totalVariation += (dramaticCuts - 0.7) * 15 * distanceFactor;
         }
@@ -245,40 +477,87 @@ public class IslandChunkGenerator extends ChunkGenerator {
 
     @Override
     public int getSeaLevel() {
-        return -63;
+        return this.settings.minY() + 1;
     }
 
     @Override
     public int getMinY() {
-        return -64;
+        return this.settings.minY();
     }
 
     @Override
     public int getBaseHeight(int x, int z, Heightmap.Types heightmapType, LevelHeightAccessor level, RandomState randomState) {
-        double islandShape = calculateJaggedBlobShape(x, z);
-        if (islandShape <= 0) {
+        prepare(randomState);
+        IslandColumn column = new IslandColumn();
+        column.unpack(this.baseColumns.packedColumn(x, z));
+        if (!column.solid) {
             return level.getMinBuildHeight();
         }
-        return calculateRealisticTerrainHeight(x, z, islandShape);
+        return column.top;
     }
 
     @Override
     public NoiseColumn getBaseColumn(int x, int z, LevelHeightAccessor level, RandomState randomState) {
-        int height = getBaseHeight(x, z, Heightmap.Types.WORLD_SURFACE_WG, level, randomState);
-        BlockState[] column = new BlockState[level.getHeight()];
-        for (int y = 0; y < column.length; y++) {
-            int worldY = level.getMinBuildHeight() + y;
-            if (worldY <= height && height > level.getMinBuildHeight()) {
-                column[y] = Blocks.STONE.defaultBlockState();
-            } else {
-                column[y] = Blocks.AIR.defaultBlockState();
+        prepare(randomState);
+        long packed = this.baseColumns.packedColumn(x, z);
+        BlockState[] states = this.baseColumns.states(packed, level);
+        if (this.noise != null) {
+            addOres(states, packed, x, z, level.getMinBuildHeight());
+        }
+        return new NoiseColumn(level.getMinBuildHeight(), states);
+    }
+
+    /**
+     * The per-block ores placeOres writes in seeded mode, so base columns hold the same blocks as the chunk.
+     */
+    private void addOres(BlockState[] states, long packed, int x, int z, int minY) {
+        IslandColumn column = new IslandColumn();
+        column.unpack(packed);
+        if (!column.solid) return;
+
+        int fromY = Math.max(Math.max(column.bottom, column.top - 12), minY);
+        int toY = Math.min(column.top - 3, minY + states.length);
+        for (int y = fromY; y < toY; y++) {
+            BlockState ore = this.noise.oreAt(x, y, z, this.settings.ores());
+            if (ore != null) {
+                states[y - minY] = ore;
             }
         }
-        return new NoiseColumn(level.getMinBuildHeight(), column);
+    }
+
+    /**
+     * Resolves a single column outside of chunk generation, for the base height and base column queries.
+     */
+    private long resolvePackedColumn(int x, int z) {
+        List<Island> islands = new ArrayList<>(2);
+        this.layout.collect(x, z, x, z, islands);
+        if (islands.isEmpty()) {
+            return 0L;
+        }
+
+        int tileMinX = x & ~15;
+        int tileMinZ = z & ~15;
+        Scratch scratch = this.scratch.get();
+        IslandColumn column = new IslandColumn();
+        sampleColumn(column, scratch.column, islands, basisFor(scratch, islands, tileMinX, tileMinZ), tileMinX, tileMinZ, x - tileMinX, z - tileMinZ);
+        return column.pack();
     }
 
     @Override
     public void addDebugScreenInfo(List<String> list, RandomState randomState, BlockPos blockPos) {
-        // You can add custom debug info here if you want
+        list.add("Elysian empty chunks skipped: " + this.emptyChunks.get());
+    }
+
+    private static class Scratch {
+        final ChunkNoiseBasis basis;
+        final IslandColumn column = new IslandColumn();
+        final IslandColumn[] columns = new IslandColumn[256];
+
+        Scratch(ChunkNoiseBasis basis) {
+            this.basis = basis;
+            for (int i = 0; i < this.columns.length; i++) {
+                this.columns[i] = new IslandColumn();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package com.discotots.elysianisles.world.chunk;
+
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+/**
+ * One resolved island column, described as vertical runs instead of a block per Y level.
+ * From the bottom up: crust (bedrock or stone), bedrock, stone/ore, dirt, then grass (or pond water) on top.
+ */
+class IslandColumn {
+    private static final BlockState BEDROCK = Blocks.BEDROCK.defaultBlockState();
+    private static final BlockState DIRT = Blocks.DIRT.defaultBlockState();
+    private static final BlockState GRASS = Blocks.GRASS_BLOCK.defaultBlockState();
+    private static final BlockState WATER = Blocks.WATER.defaultBlockState();
+
+    // Every state oreState can take, so it can be stored as a small index
+    static final BlockState[] ORE_STATES = {
+            Blocks.STONE.defaultBlockState(),
+            Blocks.COAL_ORE.defaultBlockState(),
+            Blocks.IRON_ORE.defaultBlockState(),
+            Blocks.GOLD_ORE.defaultBlockState(),
+            Blocks.DIAMOND_ORE.defaultBlockState()
+    };
+
+    private static final long SOLID_BIT = 1L << 48;
+    private static final long POND_BIT = 1L << 49;
+    private static final long CRUST_BEDROCK_BIT = 1L << 50;
+    private static final int ORE_SHIFT = 51;
+
+    boolean solid;        // false when the column is entirely air
+    int top;              // terrain height, the grass (or water) level
+    int bottom;           // first solid Y, everything below is air
+    int crustTop;         // exclusive end of the crust run
+    BlockState crustState;
+    BlockState oreState;  // stone or the ore picked for this column
+    boolean pond;
+
+    void clear() {
+        this.solid = false;
+        this.pond = false;
+    }
+
+    void copyFrom(IslandColumn other) {
+        this.solid = other.solid;
+        this.top = other.top;
+        this.bottom = other.bottom;
+        this.crustTop = other.crustTop;
+        this.crustState = other.crustState;
+        this.oreState = other.oreState;
+        this.pond = other.pond;
+    }
+
+    static int oreIndex(BlockState state) {
+        for (int i = 0; i < ORE_STATES.length; i++) {
+            if (ORE_STATES[i] == state) return i;
+        }
+        return 0;
+    }
+
+    /**
+     * Packs the whole column into one long. Columns that produce the same blocks pack to the same value,
+     * and an all-air column always packs to 0.
+     */
+    long pack() {
+        if (!this.solid) return 0L;
+        long packed = (this.top & 0xFFFFL) | ((this.bottom & 0xFFFFL) << 16) | ((this.crustTop & 0xFFFFL) << 32) | SOLID_BIT;
+        if (this.pond) packed |= POND_BIT;
+        if (this.crustState.is(Blocks.BEDROCK)) packed |= CRUST_BEDROCK_BIT;
+        return packed | ((long) oreIndex(this.oreState) << ORE_SHIFT);
+    }
+
+    void unpack(long packed) {
+        clear();
+        if ((packed & SOLID_BIT) == 0) return;
+
+        this.solid = true;
+        this.top = (short) packed;
+        this.bottom = (short) (packed >>> 16);
+        this.crustTop = (short) (packed >>> 32);
+        this.pond = (packed & POND_BIT) != 0;
+        this.crustState = (packed & CRUST_BEDROCK_BIT) != 0 ? BEDROCK : Blocks.STONE.defaultBlockState();
+        this.oreState = ORE_STATES[(int) (packed >>> ORE_SHIFT) & 7];
+    }
+
+    /**
+     * Lowest Y this column writes to, or {@link Integer#MAX_VALUE} when it writes nothing.
+     */
+    int minWrittenY() {
+        if (!this.solid) return Integer.MAX_VALUE;
+        return this.pond ? Math.min(this.bottom, this.top) : this.bottom;
+    }
+
+    /**
+     * Highest Y this column writes to, or {@link Integer#MIN_VALUE} when it writes nothing.
+     */
+    int maxWrittenY() {
+        if (!this.solid) return Integer.MIN_VALUE;
+        return (this.pond || this.top >= this.bottom) ? this.top : Integer.MIN_VALUE;
+    }
+
+    BlockState stateAt(int y) {
+        if (!this.solid) return null;
+        if (y == this.top) {
+            if (this.pond) return WATER;
+            return y >= this.bottom ? GRASS : null;
+        }
+        if (y < this.bottom || y > this.top) return null;
+        if (y < this.top - 12) return y < this.crustTop ? this.crustState : BEDROCK;
+        if (y < this.top - 3) return this.oreState;
+        return DIRT;
+    }
+
+    /**
+     * Writes the part of this column that falls inside one 16-block section, run by run.
+     */
+    void fill(LevelChunkSection section, int localX, int localZ, int sectionMinY) {
+        if (!this.solid) return;
+        int sectionMaxY = sectionMinY + 16;
+
+        int bedrockTop = this.top - 12;
+        int stoneTop = this.top - 3;
+        fillRun(section, localX, localZ, sectionMinY, sectionMaxY, this.bottom, Math.min(this.crustTop, bedrockTop), this.crustState);
+        fillRun(section, localX, localZ, sectionMinY, sectionMaxY, Math.max(this.bottom, this.crustTop), bedrockTop, BEDROCK);
+        fillRun(section, localX, localZ, sectionMinY, sectionMaxY, Math.max(this.bottom, bedrockTop), stoneTop, this.oreState);
+        fillRun(section, localX, localZ, sectionMinY, sectionMaxY, Math.max(this.bottom, stoneTop), this.top, DIRT);
+
+        BlockState topState = stateAt(this.top);
+        if (topState != null && this.top >= sectionMinY && this.top < sectionMaxY) {
+            section.setBlockState(localX, this.top - sectionMinY, localZ, topState, false);
+        }
+    }
+
+    private static void fillRun(LevelChunkSection section, int localX, int localZ,
+                                int sectionMinY, int sectionMaxY, int fromY, int toY, BlockState state) {
+        int start = Math.max(fromY, sectionMinY);
+        int end = Math.min(toY, sectionMaxY);
+        for (int y = start; y < end; y++) {
+            section.setBlockState(localX, y - sectionMinY, localZ, state, false);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.discotots.elysianisles.world.chunk;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.List;
+
+/**
+ * Places islands on a grid of cells and answers which of them can reach a given area.
+ * Each cell holds at most one island, derived from a hash of the cell coordinates, so a lookup only
+ * visits the few cells around the area no matter how many islands exist.
+ * Island centers keep one reach away from their cell's edges, and cells too close to the home island stay
+ * empty, so no two islands can touch.
+ */
+class IslandLayout {
+    private final Island home;
+    private final ArchipelagoSettings archipelago;
+    private final int reach;
+    private final int homeCellX;
+    private final int homeCellZ;
+
+    IslandLayout(Island home, ArchipelagoSettings archipelago, int reach) {
+        this.home = home;
+        this.archipelago = archipelago;
+        this.reach = reach;
+        this.homeCellX = archipelago != null ? Math.floorDiv(home.centerX(), archipelago.cellSize()) : 0;
+        this.homeCellZ = archipelago != null ? Math.floorDiv(home.centerZ(), archipelago.cellSize()) : 0;
+    }
+
+    Island home() {
+        return this.home;
+    }
+
+    /**
+     * Adds every island whose reach overlaps the block area [minX, maxX] x [minZ, maxZ] to the list.
+     */
+    void collect(int minX, int minZ, int maxX, int maxZ, List<Island> out) {
+        if (reaches(this.home, minX, minZ, maxX, maxZ)) {
+            out.add(this.home);
+        }
+        if (this.archipelago == null) return;
+
+        int cellSize = this.archipelago.cellSize();
+        int minCellX = Math.floorDiv(minX - this.reach, cellSize);
+        int maxCellX = Math.floorDiv(maxX + this.reach, cellSize);
+        int minCellZ = Math.floorDiv(minZ - this.reach, cellSize);
+        int maxCellZ = Math.floorDiv(maxZ + this.reach, cellSize);
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                Island island = islandInCell(cellX, cellZ);
+                if (island != null && reaches(island, minX, minZ, maxX, maxZ)) {
+                    out.add(island);
+                }
+            }
+        }
+    }
+
+    private Island islandInCell(int cellX, int cellZ) {
+        // The home island owns its cell
+        if (cellX == this.homeCellX && cellZ == this.homeCellZ) return null;
+
+        long hash = HashCommon.murmurHash3(this.archipelago.seed() ^ ((long) cellX * 0x9E3779B97F4A7C15L) ^ ((long) cellZ * 0xC2B2AE3D27D4EB4FL));
+        if ((hash >>> 40) / (float) (1 << 24) >= this.archipelago.chance()) return null;
+
+        int cellSize = this.archipelago.cellSize();
+        long span = cellSize - 2L * this.reach + 1;
+        int centerX = cellX * cellSize + this.reach + (int) Math.floorMod(hash, span);
+        int centerZ = cellZ * cellSize + this.reach + (int) Math.floorMod(hash >>> 20, span);
+
+        // The home island can sit anywhere in its cell, so a neighbour has to keep its distance from it
+        long dx = centerX - this.home.centerX();
+        long dz = centerZ - this.home.centerZ();
+        if (dx * dx + dz * dz < 4L * this.reach * this.reach) return null;
+
+        int variation = this.archipelago.heightVariation();
+        int heightOffset = variation == 0 ? 0 : (int) Math.floorMod(hash >>> 32, (long) (variation * 2 + 1)) - variation;
+
+        return new Island(centerX, centerZ, this.home.baseHeight() + heightOffset, false);
+    }
+
+    private boolean reaches(Island island, int minX, int minZ, int maxX, int maxZ) {
+        long dx = Math.max(minX, Math.min(island.centerX(), maxX)) - island.centerX();
+        long dz = Math.max(minZ, Math.min(island.centerZ(), maxZ)) - island.centerZ();
+        return dx * dx + dz * dz < (long) this.reach * this.reach;
+    }
+}
@@ -0,0 +1,77 @@
+package com.discotots.elysianisles.world.chunk;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.world.noise.SeededSimplex;
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.core.BlockPos;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.PositionalRandomFactory;
+import net.minecraft.world.level.levelgen.RandomState;
+
+/**
+ * The seed-dependent parts of the island noise, used when the generator runs in seeded mode.
+ * The jagged outline is simplex noise sampled around a circle (no atan2 or per-column sines needed), the
+ * separable waves are shifted by a seeded offset, and ores are rolled per block instead of per column.
+ */
+class IslandNoise {
+    private final SeededSimplex outline;
+    private final double offsetX;
+    private final double offsetZ;
+    private final long oreSeed;
+
+    private IslandNoise(SeededSimplex outline, double offsetX, double offsetZ, long oreSeed) {
+        this.outline = outline;
+        this.offsetX = offsetX;
+        this.offsetZ = offsetZ;
+        this.oreSeed = oreSeed;
+    }
+
+    static IslandNoise create(RandomState randomState) {
+        PositionalRandomFactory factory = randomState.getOrCreateRandomFactory(ElysianIslesMod.modLoc("island"));
+        RandomSource shape = factory.fromHashOf("shape");
+        double offsetX = (shape.nextDouble() - 0.5) * 20000.0;
+        double offsetZ = (shape.nextDouble() - 0.5) * 20000.0;
+        return new IslandNoise(new SeededSimplex(shape), offsetX, offsetZ, factory.fromHashOf("ores").nextLong());
+    }
+
+    double offsetX() {
+        return this.offsetX;
+    }
+
+    double offsetZ() {
+        return this.offsetZ;
+    }
+
+    /**
+     * Radius offset of the outline in the direction of (dx, dz). Stays within the 35 + 20 + 12 blocks the
+     * classic jags can reach, so the island radius bound still holds.
+     */
+    double jags(double dx, double dz, double distance) {
+        double unitX = distance > 0 ? dx / distance : 1;
+        double unitZ = distance > 0 ? dz / distance : 0;
+        return this.outline.sample(unitX * 1.4, unitZ * 1.4) * 35
+                + this.outline.sample(unitX * 2.9 + 31.7, unitZ * 2.9) * 20
+                + this.outline.sample(unitX * 4.3 - 57.1, unitZ * 4.3 + 13.3) * 12;
+    }
+
+    /**
+     * Ore at one block of the stone layer, or null for plain stone. Each ore keeps the same overall chance
+     * as its classic per-column frequency.
+     */
+    BlockState oreAt(int x, int y, int z, IslandSettings.OreFrequencies ores) {
+        long hash = HashCommon.murmurHash3(this.oreSeed ^ BlockPos.asLong(x, y, z));
+        double roll = (hash >>> 11) * 0x1.0p-53;
+
+        double chance = 1.0 / ores.coal();
+        if (roll < chance) return Blocks.COAL_ORE.defaultBlockState();
+        chance += 1.0 / ores.iron();
+        if (roll < chance) return Blocks.IRON_ORE.defaultBlockState();
+        chance += 1.0 / ores.gold();
+        if (roll < chance) return Blocks.GOLD_ORE.defaultBlockState();
+        chance += 1.0 / ores.diamond();
+        if (roll < chance) return Blocks.DIAMOND_ORE.defaultBlockState();
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package com.discotots.elysianisles.world.chunk;
+
+import net.minecraft.world.level.block.Blocks;
+
+/**
+ * Precomputed island columns for a fixed square around the island center.
+ * Everything is kept in flat primitive arrays indexed by (x, z) so a column lookup is a couple of array reads
+ * instead of re-running the shape, height and bottom noise.
+ */
+class IslandRaster {
+    private static final int FLAG_SOLID = 1;
+    private static final int FLAG_CRUST_BEDROCK = 2;
+    private static final int FLAG_POND = 4;
+
+    private final int minX;
+    private final int minZ;
+    private final int size;
+
+    private final float[] shape;
+    private final short[] top;
+    private final short[] bottom;
+    private final short[] crustTop;
+    private final byte[] ore;
+    private final byte[] flags;
+
+    interface ColumnSource {
+        /**
+         * Resolves one column of the tile the basis is set to and returns its raw island shape value
+         * (positive inside the island).
+         */
+        double resolve(IslandColumn column, ChunkNoiseBasis basis, int localX, int localZ);
+    }
+
+    IslandRaster(int centerX, int centerZ, int radius, ChunkNoiseBasis basis, ColumnSource source) {
+        this.minX = centerX - radius;
+        this.minZ = centerZ - radius;
+        this.size = radius * 2 + 1;
+
+        int columns = this.size * this.size;
+        this.shape = new float[columns];
+        this.top = new short[columns];
+        this.bottom = new short[columns];
+        this.crustTop = new short[columns];
+        this.ore = new byte[columns];
+        this.flags = new byte[columns];
+
+        // Walk the square in 16x16 tiles so the separable noise factors are shared by a whole tile.
+        IslandColumn column = new IslandColumn();
+        for (int tileX = 0; tileX < this.size; tileX += 16) {
+            for (int tileZ = 0; tileZ < this.size; tileZ += 16) {
+                basis.setOrigin(this.minX + tileX, this.minZ + tileZ);
+                int tileWidth = Math.min(16, this.size - tileX);
+                int tileDepth = Math.min(16, this.size - tileZ);
+
+                for (int localX = 0; localX < tileWidth; localX++) {
+                    for (int localZ = 0; localZ < tileDepth; localZ++) {
+                        int index = (tileX + localX) * this.size + (tileZ + localZ);
+                        this.shape[index] = (float) source.resolve(column, basis, localX, localZ);
+                        store(index, column);
+                    }
+                }
+            }
+        }
+    }
+
+    private void store(int index, IslandColumn column) {
+        if (!column.solid) return;
+
+        int columnFlags = FLAG_SOLID;
+        if (column.crustState.is(Blocks.BEDROCK)) columnFlags |= FLAG_CRUST_BEDROCK;
+        if (column.pond) columnFlags |= FLAG_POND;
+
+        this.flags[index] = (byte) columnFlags;
+        this.top[index] = (short) column.top;
+        this.bottom[index] = (short) column.bottom;
+        this.crustTop[index] = (short) column.crustTop;
+        this.ore[index] = (byte) IslandColumn.oreIndex(column.oreState);
+    }
+
+    boolean contains(int worldX, int worldZ) {
+        int x = worldX - this.minX;
+        int z = worldZ - this.minZ;
+        return x >= 0 && z >= 0 && x < this.size && z < this.size;
+    }
+
+    private int indexOf(int worldX, int worldZ) {
+        return (worldX - this.minX) * this.size + (worldZ - this.minZ);
+    }
+
+    /**
+     * Copies a column out of the raster. Callers must check {@link #contains} first.
+     */
+    void load(IslandColumn column, int worldX, int worldZ) {
+        int index = indexOf(worldX, worldZ);
+        int columnFlags = this.flags[index];
+
+        column.clear();
+        if ((columnFlags & FLAG_SOLID) == 0) return;
+
+        column.solid = true;
+        column.top = this.top[index];
+        column.bottom = this.bottom[index];
+        column.crustTop = this.crustTop[index];
+        column.crustState = (columnFlags & FLAG_CRUST_BEDROCK) != 0
+                ? Blocks.BEDROCK.defaultBlockState()
+                : Blocks.STONE.defaultBlockState();
+        column.oreState = IslandColumn.ORE_STATES[this.ore[index]];
+        column.pond = (columnFlags & FLAG_POND) != 0;
+    }
+
+    float shapeAt(int worldX, int worldZ) {
+        return this.shape[indexOf(worldX, worldZ)];
+    }
+
+    boolean isSolid(int worldX, int worldZ) {
+        return (this.flags[indexOf(worldX, worldZ)] & FLAG_SOLID) != 0;
+    }
+
+    int topAt(int worldX, int worldZ) {
+        return this.top[indexOf(worldX, worldZ)];
+    }
+
+    int bottomAt(int worldX, int worldZ) {
+        return this.bottom[indexOf(worldX, worldZ)];
+    }
+}
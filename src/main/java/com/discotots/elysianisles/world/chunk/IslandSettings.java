@@ -0,0 +1,56 @@
+package com.discotots.elysianisles.world.chunk;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+/**
+ * Tunable island parameters, read from the "settings" object of the generator in the dimension json.
+ * Every field is optional and defaults to the values the island was originally built with.
+ * min_y and height only describe the range the generator writes in; the level's build range comes from the
+ * dimension type, so both have to be changed together (the bundled elysian_type matches the defaults).
+ */
+public record IslandSettings(int centerX, int centerZ, int blockingRadius, int baseHeight,
+                             int minY, int height, OreFrequencies ores) {
+
+    public static final IslandSettings DEFAULT = new IslandSettings(8, -5, 300, 72, -64, 384, OreFrequencies.DEFAULT);
+
+    public static final Codec<IslandSettings> CODEC = RecordCodecBuilder.<IslandSettings>create(instance ->
+            instance.group(
+                    Codec.INT.optionalFieldOf("center_x", DEFAULT.centerX()).forGetter(IslandSettings::centerX),
+                    Codec.INT.optionalFieldOf("center_z", DEFAULT.centerZ()).forGetter(IslandSettings::centerZ),
+                    Codec.intRange(0, 4096).optionalFieldOf("blocking_radius", DEFAULT.blockingRadius()).forGetter(IslandSettings::blockingRadius),
+                    Codec.INT.optionalFieldOf("base_height", DEFAULT.baseHeight()).forGetter(IslandSettings::baseHeight),
+                    Codec.INT.optionalFieldOf("min_y", DEFAULT.minY()).forGetter(IslandSettings::minY),
+                    Codec.intRange(16, 4064).optionalFieldOf("height", DEFAULT.height()).forGetter(IslandSettings::height),
+                    OreFrequencies.CODEC.optionalFieldOf("ores", OreFrequencies.DEFAULT).forGetter(IslandSettings::ores)
+            ).apply(instance, IslandSettings::new)
+    ).flatXmap(IslandSettings::validate, IslandSettings::validate);
+
+    private static DataResult<IslandSettings> validate(IslandSettings settings) {
+        if (settings.minY() % 16 != 0 || settings.height() % 16 != 0) {
+            return DataResult.error(() -> "Island min_y and height must be multiples of 16");
+        }
+        return DataResult.success(settings);
+    }
+
+    public int maxY() {
+        return this.minY + this.height;
+    }
+
+    /**
+     * How rare each ore is in the stone layer: a column gets the ore when its coordinate hash is a multiple of the value.
+     */
+    public record OreFrequencies(int coal, int iron, int gold, int diamond) {
+        public static final OreFrequencies DEFAULT = new OreFrequencies(25, 70, 140, 280);
+
+        public static final Codec<OreFrequencies> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("coal", DEFAULT.coal()).forGetter(OreFrequencies::coal),
+                        Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("iron", DEFAULT.iron()).forGetter(OreFrequencies::iron),
+                        Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("gold", DEFAULT.gold()).forGetter(OreFrequencies::gold),
+                        Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("diamond", DEFAULT.diamond()).forGetter(OreFrequencies::diamond)
+                ).apply(instance, OreFrequencies::new)
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.discotots.elysianisles.world.noise;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.util.StringRepresentable;
+
+/**
+ * Where the island noise gets its variation from.
+ * CLASSIC is the original fixed set of waves, identical in every world; SEEDED derives the island outline,
+ * wave phases and ore placement from the world seed.
+ */
+public enum NoiseMode implements StringRepresentable {
+    CLASSIC("classic"),
+    SEEDED("seeded");
+
+    public static final Codec<NoiseMode> CODEC = StringRepresentable.fromEnum(NoiseMode::values);
+
+    private final String name;
+
+    NoiseMode(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getSerializedName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,75 @@
+package com.discotots.elysianisles.world.noise;
+
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+
+/**
+ * 2D simplex noise over a seeded permutation table.
+ * The table is a flat int array doubled to 512 entries so lookups never need a second wrap, and sampling
+ * allocates nothing, so one instance can be shared by every worldgen thread.
+ */
+public final class SeededSimplex {
+    private static final double F2 = 0.5 * (Math.sqrt(3.0) - 1.0);
+    private static final double G2 = (3.0 - Math.sqrt(3.0)) / 6.0;
+
+    private static final double[] GRADIENT_X = {1, -1, 1, -1, 1, -1, 0, 0};
+    private static final double[] GRADIENT_Y = {1, 1, -1, -1, 0, 0, 1, -1};
+
+    private final int[] permutation = new int[512];
+    private final double originX;
+    private final double originY;
+
+    public SeededSimplex(RandomSource random) {
+        this.originX = random.nextDouble() * 256.0;
+        this.originY = random.nextDouble() * 256.0;
+
+        for (int i = 0; i < 256; i++) {
+            this.permutation[i] = i;
+        }
+        for (int i = 255; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = this.permutation[i];
+            this.permutation[i] = this.permutation[j];
+            this.permutation[j] = swap;
+        }
+        System.arraycopy(this.permutation, 0, this.permutation, 256, 256);
+    }
+
+    /**
+     * Samples the noise, the result is always within [-1, 1].
+     */
+    public double sample(double x, double y) {
+        x += this.originX;
+        y += this.originY;
+
+        // Skew into the simplex grid to find the containing triangle
+        double skew = (x + y) * F2;
+        int cellX = Mth.floor(x + skew);
+        int cellY = Mth.floor(y + skew);
+        double unskew = (cellX + cellY) * G2;
+        double x0 = x - (cellX - unskew);
+        double y0 = y - (cellY - unskew);
+
+        int stepX = x0 > y0 ? 1 : 0;
+        int stepY = 1 - stepX;
+        double x1 = x0 - stepX + G2;
+        double y1 = y0 - stepY + G2;
+        double x2 = x0 - 1.0 + 2.0 * G2;
+        double y2 = y0 - 1.0 + 2.0 * G2;
+
+        int[] p = this.permutation;
+        int i = cellX & 255;
+        int j = cellY & 255;
+        double value = corner(p[i + p[j]] & 7, x0, y0)
+                + corner(p[i + stepX + p[j + stepY]] & 7, x1, y1)
+                + corner(p[i + 1 + p[j + 1]] & 7, x2, y2);
+        return Mth.clamp(value * 70.0, -1.0, 1.0);
+    }
+
+    private static double corner(int gradient, double x, double y) {
+        double falloff = 0.5 - x * x - y * y;
+        if (falloff <= 0) return 0;
+        falloff *= falloff;
+        return falloff * falloff * (GRADIENT_X[gradient] * x + GRADIENT_Y[gradient] * y);
+    }
+}
@@ -0,0 +1,64 @@
+package com.discotots.elysianisles.world.noise;
+
+import com.mojang.serialization.Codec;
+import net.minecraft.util.Mth;
+import net.minecraft.util.StringRepresentable;
+
+/**
+ * The trig functions the island noise is built from.
+ * EXACT is plain java.lang.Math and reproduces existing worlds block for block; TABLE goes through the
+ * game's float sine table and atan2 approximation, which is much cheaper but shifts the terrain slightly.
+ */
+public enum TrigKernel implements StringRepresentable {
+    EXACT("exact") {
+        @Override
+        public double sin(double value) {
+            return Math.sin(value);
+        }
+
+        @Override
+        public double cos(double value) {
+            return Math.cos(value);
+        }
+
+        @Override
+        public double atan2(double y, double x) {
+            return Math.atan2(y, x);
+        }
+    },
+    TABLE("table") {
+        @Override
+        public double sin(double value) {
+            return Mth.sin((float) value);
+        }
+
+        @Override
+        public double cos(double value) {
+            return Mth.cos((float) value);
+        }
+
+        @Override
+        public double atan2(double y, double x) {
+            return Mth.atan2(y, x);
+        }
+    };
+
+    public static final Codec<TrigKernel> CODEC = StringRepresentable.fromEnum(TrigKernel::values);
+
+    private final String name;
+
+    TrigKernel(String name) {
+        this.name = name;
+    }
+
+    public abstract double sin(double value);
+
+    public abstract double cos(double value);
+
+    public abstract double atan2(double y, double x);
+
+    @Override
+    public String getSerializedName() {
+        return this.name;
+    }
+}
@@ -0,0 +1,86 @@
+package com.discotots.elysianisles.world.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Collects block writes and applies them in one go, section by section.
+ * Every block is written without neighbour or shape updates (the changes still reach clients, which the chunk
+ * holder already batches into one packet per section). Neighbour and shape updates then run once at the end, and
+ * only for written blocks that touch something outside the batch, since blocks inside it were all placed together.
+ */
+public class BlockBatch {
+    private static final int WRITE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+
+    private final LevelAccessor level;
+    private final Long2ObjectOpenHashMap<BlockState> writes = new Long2ObjectOpenHashMap<>();
+
+    public BlockBatch(LevelAccessor level) {
+        this.level = level;
+    }
+
+    /**
+     * Queues a write, replacing anything queued for the same position.
+     */
+    public BlockBatch set(BlockPos pos, BlockState state) {
+        this.writes.put(pos.asLong(), state);
+        return this;
+    }
+
+    /**
+     * Writes every queued block and returns how many actually changed.
+     */
+    public int apply() {
+        // Group by section so each chunk section is visited once
+        Long2ObjectOpenHashMap<LongArrayList> bySection = new Long2ObjectOpenHashMap<>();
+        for (long packed : this.writes.keySet()) {
+            long sectionKey = SectionPos.asLong(
+                    SectionPos.blockToSectionCoord(BlockPos.getX(packed)),
+                    SectionPos.blockToSectionCoord(BlockPos.getY(packed)),
+                    SectionPos.blockToSectionCoord(BlockPos.getZ(packed)));
+            bySection.computeIfAbsent(sectionKey, key -> new LongArrayList()).add(packed);
+        }
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        LongArrayList changed = new LongArrayList();
+        for (Long2ObjectMap.Entry<LongArrayList> section : bySection.long2ObjectEntrySet()) {
+            LongArrayList positions = section.getValue();
+            for (int i = 0; i < positions.size(); i++) {
+                long packed = positions.getLong(i);
+                if (this.level.setBlock(pos.set(packed), this.writes.get(packed), WRITE_FLAGS)) {
+                    changed.add(packed);
+                }
+            }
+        }
+
+        // One deferred pass over the edge of the batch
+        for (int i = 0; i < changed.size(); i++) {
+            long packed = changed.getLong(i);
+            if (!touchesOutside(packed)) continue;
+
+            BlockState state = this.writes.get(packed);
+            pos.set(packed);
+            this.level.blockUpdated(pos, state.getBlock());
+            state.updateNeighbourShapes(this.level, pos, Block.UPDATE_ALL);
+        }
+
+        this.writes.clear();
+        return changed.size();
+    }
+
+    private boolean touchesOutside(long packed) {
+        for (Direction direction : Direction.values()) {
+            if (!this.writes.containsKey(BlockPos.offset(packed, direction))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
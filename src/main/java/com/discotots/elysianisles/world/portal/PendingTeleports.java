@@ -0,0 +1,252 @@
+package com.discotots.elysianisles.world.portal;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.AABB;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Staged portal travel. Entering a portal puts a ticket on the chunks around the expected destination so the
+ * chunk system loads (or generates) them off the server thread, and the entities are only moved once they are
+ * ready, or after a timeout, so the teleporter's search and portal building never have to wait on chunks.
+ * Everything that enters the same portal while its destination is loading travels together: one prediction,
+ * one ticket and one destination search for the whole group.
+ */
+public class PendingTeleports {
+    private static final TicketType<ChunkPos> PRELOAD_TICKET =
+            TicketType.create(ElysianIslesMod.MOD_ID + "_portal_preload", Comparator.comparingLong(ChunkPos::toLong));
+
+    // Ticket distance: every chunk within this many chunks of the destination is brought to FULL status
+    private static final int PRELOAD_RADIUS = 2;
+    private static final int TIMEOUT_TICKS = 100;
+
+    private static final Map<PortalRecord, Pending> pending = new HashMap<>();
+    private static final IntSet pendingEntities = new IntOpenHashSet();
+
+    private static long completed;
+    private static long timedOut;
+    private static long entitiesMoved;
+    private static long totalWaitNanos;
+    private static long maxWaitNanos;
+
+    private static class Pending {
+        final ServerLevel origin;
+        final ServerLevel destination;
+        final ChunkPos center;
+        final PortalRecord source;
+        final Direction.Axis axis;
+        final int width;
+        final int height;
+        final List<Entity> entities = new ArrayList<>();
+        final long startNanos = System.nanoTime();
+        int ticks;
+
+        Pending(ServerLevel origin, ServerLevel destination, ChunkPos center, PortalRecord source, Direction.Axis axis, int width, int height) {
+            this.origin = origin;
+            this.destination = destination;
+            this.center = center;
+            this.source = source;
+            this.axis = axis;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public static boolean isPending(Entity entity) {
+        return pendingEntities.contains(entity.getId());
+    }
+
+    /**
+     * Queues an entity to travel through a portal. The first entity through starts loading the destination,
+     * the rest join its group and follow once it is ready.
+     */
+    public static void schedule(Entity entity, ServerLevel destination, PortalRecord source,
+                                Direction.Axis axis, int width, int height) {
+        if (!pendingEntities.add(entity.getId())) return;
+
+        Pending trip = pending.get(source);
+        if (trip == null) {
+            ChunkPos center = new ChunkPos(predictDestination(destination, source, entity.blockPosition()));
+            destination.getChunkSource().addRegionTicket(PRELOAD_TICKET, center, PRELOAD_RADIUS, center);
+            trip = new Pending((ServerLevel) entity.level(), destination, center, source, axis, width, height);
+            pending.put(source, trip);
+
+            if (Diagnostics.TRAVEL.isEnabled()) {
+                Diagnostics.TRAVEL.log("Preloading destination around chunk {} in {} for {}",
+                        center, destination.dimension().location(), entity.getName().getString());
+            }
+        }
+        trip.entities.add(entity);
+    }
+
+    /**
+     * Where the teleporter will end up: the linked portal when there is one, otherwise the center of its search.
+     */
+    private static BlockPos predictDestination(ServerLevel destination, PortalRecord source, BlockPos entityPos) {
+        PortalRecord linked = source != null ? source.getLink() : null;
+        if (linked != null && linked.getDimension() == destination.dimension()) {
+            return linked.getBottomLeft();
+        }
+        return PortalTeleporter.getSearchCenter(destination, entityPos);
+    }
+
+    public static void tick(MinecraftServer server) {
+        if (pending.isEmpty()) return;
+
+        // Collect first, teleporting can schedule new trips
+        List<Pending> ready = new ArrayList<>();
+        for (Iterator<Pending> it = pending.values().iterator(); it.hasNext(); ) {
+            Pending trip = it.next();
+            trip.entities.removeIf(entity -> {
+                if (entity.isRemoved()) {
+                    pendingEntities.remove(entity.getId());
+                    return true;
+                }
+                return false;
+            });
+
+            if (trip.entities.isEmpty()) {
+                release(trip);
+                it.remove();
+            } else if (isLoaded(trip) || ++trip.ticks >= TIMEOUT_TICKS) {
+                ready.add(trip);
+                it.remove();
+            }
+        }
+
+        for (Pending trip : ready) {
+            boolean loaded = isLoaded(trip);
+            long waited = System.nanoTime() - trip.startNanos;
+            completed++;
+            totalWaitNanos += waited;
+            maxWaitNanos = Math.max(maxWaitNanos, waited);
+            if (!loaded) {
+                timedOut++;
+                ElysianIslesMod.LOGGER.warn("Destination for {} entities was not ready after {} ticks, teleporting anyway",
+                        trip.entities.size(), TIMEOUT_TICKS);
+            }
+
+            // The teleporter resolves the destination portal once and places the whole group there
+            PortalTeleporter teleporter = new PortalTeleporter(trip.destination, trip.source, trip.axis, trip.width, trip.height);
+            long movedBefore = entitiesMoved;
+            for (Entity entity : trip.entities) {
+                pendingEntities.remove(entity.getId());
+                if (entity.isRemoved() || entity.level() != trip.origin) continue;
+                if (!isInside(entity, trip.source)) {
+                    // Walked out while the destination was loading, it can enter again to start a new trip
+                    if (Diagnostics.TRAVEL.isEnabled()) {
+                        Diagnostics.TRAVEL.log("{} left portal {} before it travelled", entity.getName().getString(), trip.source);
+                    }
+                    continue;
+                }
+
+                // A player riding something takes the whole stack of mounts and riders along
+                Entity traveller = entity.getRootVehicle();
+                if (traveller.level() != trip.origin || !traveller.canChangeDimensions()) continue;
+                travel(traveller, trip.destination, teleporter);
+            }
+            release(trip);
+
+            if (Diagnostics.TRAVEL.isEnabled()) {
+                Diagnostics.TRAVEL.log("Teleported {} entities to {} after waiting {} ms for chunks",
+                        entitiesMoved - movedBefore, trip.destination.dimension().location(), waited / 1_000_000);
+            }
+        }
+    }
+
+    /**
+     * Moves an entity and everything riding it, and seats the riders again on arrival, changeDimension itself
+     * ejects them. Returns the moved entity, or null when it did not travel.
+     */
+    private static Entity travel(Entity entity, ServerLevel destination, PortalTeleporter teleporter) {
+        List<Entity> passengers = List.copyOf(entity.getPassengers());
+        Entity moved = entity.changeDimension(destination, teleporter);
+        if (moved == null) return null;
+
+        // The entity arrives standing in the destination portal
+        PortalCooldowns.start(moved);
+        entitiesMoved++;
+        for (Entity passenger : passengers) {
+            if (passenger.isRemoved() || passenger.isPassenger() || !passenger.canChangeDimensions()) continue;
+            pendingEntities.remove(passenger.getId());
+            // The teleporter already resolved the destination, so the rider lands where its vehicle did
+            Entity rider = travel(passenger, destination, teleporter);
+            if (rider != null) {
+                rider.startRiding(moved, true);
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Whether the entity still overlaps the interior of the portal it entered.
+     */
+    private static boolean isInside(Entity entity, PortalRecord source) {
+        if (source.getWidth() <= 0 || source.getHeight() <= 0) return true;
+        BlockPos min = source.getBottomLeft();
+        BlockPos max = min.relative(Direction.UP, source.getHeight()).relative(source.getRightDirection(), source.getWidth())
+                .relative(source.getAxis() == Direction.Axis.X ? Direction.SOUTH : Direction.EAST);
+        return entity.getBoundingBox().intersects(new AABB(min, max));
+    }
+
+    private static boolean isLoaded(Pending trip) {
+        ServerChunkCache chunkSource = trip.destination.getChunkSource();
+        for (int x = -PRELOAD_RADIUS; x <= PRELOAD_RADIUS; x++) {
+            for (int z = -PRELOAD_RADIUS; z <= PRELOAD_RADIUS; z++) {
+                if (chunkSource.getChunkNow(trip.center.x + x, trip.center.z + z) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void release(Pending trip) {
+        trip.destination.getChunkSource().removeRegionTicket(PRELOAD_TICKET, trip.center, PRELOAD_RADIUS, trip.center);
+    }
+
+    /**
+     * Drops every pending trip, for a server shutdown.
+     */
+    public static void clear() {
+        pending.values().forEach(PendingTeleports::release);
+        pending.clear();
+        pendingEntities.clear();
+    }
+
+    public static long getCompletedCount() {
+        return completed;
+    }
+
+    public static long getTimedOutCount() {
+        return timedOut;
+    }
+
+    public static long getEntitiesMoved() {
+        return entitiesMoved;
+    }
+
+    public static double getAverageWaitMillis() {
+        return completed > 0 ? totalWaitNanos / 1.0E6 / completed : 0;
+    }
+
+    public static double getMaxWaitMillis() {
+        return maxWaitNanos / 1.0E6;
+    }
+}
@@ -0,0 +1,50 @@
+package com.discotots.elysianisles.world.portal;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Portal cooldowns by entity id, held only in memory.
+ * Each entry is the game time the cooldown runs out, so nothing has to count down every tick. Like the vanilla
+ * portal cooldown, touching a portal while cooling down starts it over, so an entity has to step out of the
+ * portal it arrived in before it can use it again.
+ */
+public class PortalCooldowns {
+    private static final int COOLDOWN_TICKS = 20;
+    private static final int PURGE_THRESHOLD = 256;
+
+    private static final Int2LongOpenHashMap expiries = new Int2LongOpenHashMap();
+    private static int purgeAt = PURGE_THRESHOLD;
+
+    /**
+     * Returns true and restarts the cooldown when the entity is still cooling down from its last trip.
+     */
+    public static boolean checkAndRefresh(Entity entity) {
+        long now = entity.level().getGameTime();
+        long expiry = expiries.get(entity.getId());
+        if (expiry > now) {
+            expiries.put(entity.getId(), now + COOLDOWN_TICKS);
+            return true;
+        }
+        if (expiry != 0) {
+            expiries.remove(entity.getId());
+        }
+        return false;
+    }
+
+    public static void start(Entity entity) {
+        long now = entity.level().getGameTime();
+        // Entities that never come back leave their entry behind, sweep them out as the map grows.
+        // The next sweep waits until the map doubles so a busy item line does not sweep on every entry.
+        if (expiries.size() >= purgeAt) {
+            expiries.int2LongEntrySet().removeIf(entry -> entry.getLongValue() <= now);
+            purgeAt = Math.max(PURGE_THRESHOLD, expiries.size() * 2);
+        }
+        expiries.put(entity.getId(), now + COOLDOWN_TICKS);
+    }
+
+    public static void clear() {
+        expiries.clear();
+        purgeAt = PURGE_THRESHOLD;
+    }
+}
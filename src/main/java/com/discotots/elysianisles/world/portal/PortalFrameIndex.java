@@ -0,0 +1,44 @@
+package com.discotots.elysianisles.world.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+
+import java.util.function.Consumer;
+
+/**
+ * The frame blocks of every registered portal in one dimension, mapped to the portal they belong to.
+ * A frame is the ring of blocks around the portal interior, corners included. A block shared by two frames
+ * belongs to the portal registered last. Portals without a known shape have no frame here.
+ */
+class PortalFrameIndex {
+    private final Long2ObjectOpenHashMap<PortalRecord> byFrameBlock = new Long2ObjectOpenHashMap<>();
+
+    void add(PortalRecord portal) {
+        forEachFrameBlock(portal, pos -> this.byFrameBlock.put(pos.asLong(), portal));
+    }
+
+    void remove(PortalRecord portal) {
+        forEachFrameBlock(portal, pos -> this.byFrameBlock.remove(pos.asLong(), portal));
+    }
+
+    PortalRecord get(BlockPos pos) {
+        return this.byFrameBlock.get(pos.asLong());
+    }
+
+    private static void forEachFrameBlock(PortalRecord portal, Consumer<BlockPos> action) {
+        int width = portal.getWidth();
+        int height = portal.getHeight();
+        if (width <= 0 || height <= 0) return;
+
+        Direction rightDir = portal.getRightDirection();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int w = -1; w <= width; w++) {
+            for (int h = -1; h <= height; h++) {
+                if (w == -1 || w == width || h == -1 || h == height) {
+                    action.accept(pos.set(portal.getBottomLeft()).move(rightDir, w).move(Direction.UP, h));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.discotots.elysianisles.world.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.function.LongPredicate;
+
+/**
+ * The portals of one dimension, bucketed by chunk.
+ * A nearest-portal query only looks at the chunk buckets around the search center, ring by ring, and stops
+ * as soon as no further ring can hold anything closer.
+ */
+class PortalIndex {
+    private final Long2ObjectOpenHashMap<LongSet> byChunk = new Long2ObjectOpenHashMap<>();
+    private int size;
+
+    private static long chunkKey(BlockPos pos) {
+        return ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+    }
+
+    /**
+     * Returns false when the portal was already indexed.
+     */
+    boolean add(BlockPos pos) {
+        if (this.byChunk.computeIfAbsent(chunkKey(pos), key -> new LongOpenHashSet(2)).add(pos.asLong())) {
+            this.size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns false when the portal was not indexed.
+     */
+    boolean remove(BlockPos pos) {
+        long key = chunkKey(pos);
+        LongSet portals = this.byChunk.get(key);
+        if (portals == null || !portals.remove(pos.asLong())) return false;
+
+        if (portals.isEmpty()) {
+            this.byChunk.remove(key);
+        }
+        this.size--;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Closest accepted portal by horizontal distance whose X and Z are both within maxDistance of the center, or null.
+     */
+    BlockPos findNearest(BlockPos center, int maxDistance, LongPredicate accept) {
+        if (this.size == 0) return null;
+
+        int centerChunkX = SectionPos.blockToSectionCoord(center.getX());
+        int centerChunkZ = SectionPos.blockToSectionCoord(center.getZ());
+        int maxRing = SectionPos.blockToSectionCoord(maxDistance) + 1;
+        Nearest nearest = new Nearest(center, maxDistance, accept);
+
+        // With fewer occupied chunks than the search square holds, checking each of them is cheaper than the rings
+        if (this.byChunk.size() <= (2 * maxRing + 1) * (2 * maxRing + 1)) {
+            for (Long2ObjectMap.Entry<LongSet> entry : this.byChunk.long2ObjectEntrySet()) {
+                nearest.offerAll(entry.getValue());
+            }
+            return nearest.pos();
+        }
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything in this ring is at least (ring - 1) chunks away
+            long ringDistance = Math.max(0, (ring - 1) * 16L);
+            if (nearest.found() && ringDistance * ringDistance > nearest.distanceSq()) break;
+
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.abs(dx) != ring && Math.abs(dz) != ring) continue;
+                    LongSet portals = this.byChunk.get(ChunkPos.asLong(centerChunkX + dx, centerChunkZ + dz));
+                    if (portals != null) {
+                        nearest.offerAll(portals);
+                    }
+                }
+            }
+        }
+        return nearest.pos();
+    }
+
+    private static class Nearest {
+        private final BlockPos center;
+        private final int maxDistance;
+        private final LongPredicate accept;
+        private long best = -1;
+        private long bestDistanceSq = Long.MAX_VALUE;
+
+        Nearest(BlockPos center, int maxDistance, LongPredicate accept) {
+            this.center = center;
+            this.maxDistance = maxDistance;
+            this.accept = accept;
+        }
+
+        void offerAll(LongSet portals) {
+            for (LongIterator it = portals.iterator(); it.hasNext(); ) {
+                long packed = it.nextLong();
+                long dx = BlockPos.getX(packed) - this.center.getX();
+                long dz = BlockPos.getZ(packed) - this.center.getZ();
+                if (Math.abs(dx) > this.maxDistance || Math.abs(dz) > this.maxDistance) continue;
+                if (!this.accept.test(packed)) continue;
+
+                long distanceSq = dx * dx + dz * dz;
+                if (distanceSq < this.bestDistanceSq) {
+                    this.bestDistanceSq = distanceSq;
+                    this.best = packed;
+                }
+            }
+        }
+
+        boolean found() {
+            return this.bestDistanceSq != Long.MAX_VALUE;
+        }
+
+        long distanceSq() {
+            return this.bestDistanceSq;
+        }
+
+        BlockPos pos() {
+            return found() ? BlockPos.of(this.best) : null;
+        }
+    }
+}
@@ -1,35 +1,90 @@
 package com.discotots.elysianisles.world.portal;
 
 import com.discotots.elysianisles.ElysianIslesMod;
-import com.discotots.elysianisles.init.ModBlocks;
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.debug.Metrics;
+import com.discotots.elysianisles.init.ModPoiTypes;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.LongArrayTag;
 import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.ai.village.poi.PoiManager;
+import net.minecraft.world.entity.ai.village.poi.PoiRecord;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.level.storage.DimensionDataStorage;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+/**
+ * Registry of every portal in every dimension, with the pairing between portals on both sides.
+ */
 public class PortalManager extends SavedData {
     private static final String DATA_NAME = ElysianIslesMod.MOD_ID + "_portal_data";
-    private final Map<String, BlockPos> portalPositions = new HashMap<>();
+
+    // Registered portals per dimension, keyed by their packed bottom-left position
+    private final Map<ResourceKey<Level>, Long2ObjectMap<PortalRecord>> portals = new HashMap<>();
+    // The same portals bucketed by chunk, so lookups never have to scan the world
+    private final Map<ResourceKey<Level>, PortalIndex> portalIndexes = new HashMap<>();
+    // Frame blocks of the same portals, so a broken frame block finds its portal without looking at the world
+    private final Map<ResourceKey<Level>, PortalFrameIndex> frameIndexes = new HashMap<>();
 
     public PortalManager() {}
 
     public PortalManager(CompoundTag tag) {
+        ListTag registryTag = tag.getList("registry", Tag.TAG_COMPOUND);
+        for (int i = 0; i < registryTag.size(); i++) {
+            CompoundTag entry = registryTag.getCompound(i);
+            Direction.Axis axis = Direction.Axis.byName(entry.getString("axis"));
+            put(readDimension(entry.getString("dimension")), NbtUtils.readBlockPos(entry.getCompound("pos")),
+                    axis != null ? axis : Direction.Axis.X, entry.getInt("width"), entry.getInt("height"));
+        }
+
+        // Links can only be resolved once every portal is known
+        for (int i = 0; i < registryTag.size(); i++) {
+            CompoundTag entry = registryTag.getCompound(i);
+            if (!entry.contains("link_dimension")) continue;
+
+            PortalRecord portal = getPortal(readDimension(entry.getString("dimension")), NbtUtils.readBlockPos(entry.getCompound("pos")));
+            PortalRecord target = getPortal(readDimension(entry.getString("link_dimension")), NbtUtils.readBlockPos(entry.getCompound("link_pos")));
+            if (portal != null && target != null) {
+                portal.setLink(target);
+                target.setLink(portal);
+            }
+        }
+
+        // Older saves only know portal positions, their shape is filled in the next time they are used
         CompoundTag portalsTag = tag.getCompound("portals");
         for (String key : portalsTag.getAllKeys()) {
-            portalPositions.put(key, NbtUtils.readBlockPos(portalsTag.getCompound(key)));
+            putLegacy(readDimension(key), NbtUtils.readBlockPos(portalsTag.getCompound(key)));
+        }
+        CompoundTag indexTag = tag.getCompound("index");
+        for (String key : indexTag.getAllKeys()) {
+            if (indexTag.contains(key, Tag.TAG_LONG_ARRAY)) {
+                for (long packed : ((LongArrayTag) indexTag.get(key)).getAsLongArray()) {
+                    putLegacy(readDimension(key), BlockPos.of(packed));
+                }
+            }
         }
     }
 
+    private static ResourceKey<Level> readDimension(String name) {
+        return ResourceKey.create(Registries.DIMENSION, new ResourceLocation(name));
+    }
+
     public static PortalManager get(ServerLevel level) {
         // The manager is stored in the Overworld's data to be globally accessible
         DimensionDataStorage storage = level.getServer().overworld().getDataStorage();
@@ -38,57 +93,143 @@ public class PortalManager extends SavedData {
 
     @Override
     public CompoundTag save(CompoundTag compoundTag) {
-        CompoundTag portalsTag = new CompoundTag();
-        portalPositions.forEach((key, pos) -> portalsTag.put(key, NbtUtils.writeBlockPos(pos)));
-        compoundTag.put("portals", portalsTag);
+        ListTag registryTag = new ListTag();
+        for (Long2ObjectMap<PortalRecord> dimensionPortals : portals.values()) {
+            for (PortalRecord portal : dimensionPortals.values()) {
+                CompoundTag entry = new CompoundTag();
+                entry.putString("dimension", portal.getDimension().location().toString());
+                entry.put("pos", NbtUtils.writeBlockPos(portal.getBottomLeft()));
+                entry.putString("axis", portal.getAxis().getName());
+                entry.putInt("width", portal.getWidth());
+                entry.putInt("height", portal.getHeight());
+                if (portal.getLink() != null) {
+                    entry.putString("link_dimension", portal.getLink().getDimension().location().toString());
+                    entry.put("link_pos", NbtUtils.writeBlockPos(portal.getLink().getBottomLeft()));
+                }
+                registryTag.add(entry);
+            }
+        }
+        compoundTag.put("registry", registryTag);
         return compoundTag;
     }
 
-    public BlockPos getPortalPos(ResourceKey<Level> dimension) {
-        return portalPositions.get(dimension.location().toString());
+    private PortalRecord put(ResourceKey<Level> dimension, BlockPos bottomLeft, Direction.Axis axis, int width, int height) {
+        PortalRecord portal = new PortalRecord(dimension, bottomLeft, axis, width, height);
+        portals.computeIfAbsent(dimension, key -> new Long2ObjectOpenHashMap<>()).put(bottomLeft.asLong(), portal);
+        portalIndexes.computeIfAbsent(dimension, key -> new PortalIndex()).add(portal.getBottomLeft());
+        frameIndexes.computeIfAbsent(dimension, key -> new PortalFrameIndex()).add(portal);
+        return portal;
     }
 
-    public void setPortalPos(ResourceKey<Level> dimension, BlockPos pos) {
-        portalPositions.put(dimension.location().toString(), pos);
-        setDirty(); // Mark this SavedData as needing to be written to disk
+    private void putLegacy(ResourceKey<Level> dimension, BlockPos bottomLeft) {
+        if (getPortal(dimension, bottomLeft) == null) {
+            put(dimension, bottomLeft, Direction.Axis.X, 0, 0);
+        }
     }
 
-    public void removePortal(ResourceKey<Level> dimension) {
-        portalPositions.remove(dimension.location().toString());
-        setDirty();
+    public PortalRecord getPortal(ResourceKey<Level> dimension, BlockPos bottomLeft) {
+        Long2ObjectMap<PortalRecord> dimensionPortals = portals.get(dimension);
+        return dimensionPortals != null ? dimensionPortals.get(bottomLeft.asLong()) : null;
+    }
+
+    public Collection<PortalRecord> getPortals(ResourceKey<Level> dimension) {
+        Long2ObjectMap<PortalRecord> dimensionPortals = portals.get(dimension);
+        return dimensionPortals != null ? dimensionPortals.values() : List.of();
     }
 
-    public void destroyOldPortal(ServerLevel level) {
-        BlockPos oldPos = getPortalPos(level.dimension());
-        if (oldPos == null || !level.isLoaded(oldPos)) return;
+    /**
+     * The registered portal whose frame contains the given block, or null.
+     */
+    public PortalRecord getPortalByFrame(ResourceKey<Level> dimension, BlockPos pos) {
+        PortalFrameIndex frameIndex = frameIndexes.get(dimension);
+        return frameIndex != null ? frameIndex.get(pos) : null;
+    }
 
-        // Use a flood-fill search to find and remove all connected portal blocks
-        Set<BlockPos> toRemove = new HashSet<>();
-        Set<BlockPos> toCheck = new HashSet<>();
-        toCheck.add(oldPos);
+    /**
+     * Registers a portal, or updates the shape of one that is already registered (keeping its link).
+     */
+    public PortalRecord registerPortal(ResourceKey<Level> dimension, BlockPos bottomLeft, Direction.Axis axis, int width, int height) {
+        PortalRecord portal = getPortal(dimension, bottomLeft);
+        if (portal == null) {
+            portal = put(dimension, bottomLeft, axis, width, height);
+            Diagnostics.REGISTRY.log("Registered portal {}", portal);
+        } else {
+            PortalFrameIndex frameIndex = frameIndexes.get(dimension);
+            frameIndex.remove(portal);
+            portal.setShape(axis, width, height);
+            frameIndex.add(portal);
+        }
+        setDirty(); // Mark this SavedData as needing to be written to disk
+        return portal;
+    }
 
-        int maxPortalBlocks = 21 * 21; // Safety limit
-        while (!toCheck.isEmpty() && toRemove.size() < maxPortalBlocks) {
-            BlockPos checking = toCheck.iterator().next();
-            toCheck.remove(checking);
+    /**
+     * Pairs two portals with each other, unpairing whatever they were linked to before.
+     */
+    public void link(PortalRecord first, PortalRecord second) {
+        if (first.getLink() == second) return;
+        unlink(first);
+        unlink(second);
+        first.setLink(second);
+        second.setLink(first);
+        setDirty();
+        Diagnostics.REGISTRY.log("Linked portal {} with {}", first, second);
+    }
 
-            if (toRemove.contains(checking)) continue;
+    private static void unlink(PortalRecord portal) {
+        PortalRecord previous = portal.getLink();
+        if (previous != null) {
+            previous.setLink(null);
+            portal.setLink(null);
+        }
+    }
 
-            if (level.getBlockState(checking).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                toRemove.add(checking);
-                for (BlockPos neighbor : BlockPos.withinManhattan(checking, 1, 1, 1)) {
-                    if (!toRemove.contains(neighbor)) {
-                        toCheck.add(neighbor.immutable());
-                    }
-                }
+    /**
+     * Unregisters any portal whose bottom-left is among the given positions, positions without a portal are ignored.
+     */
+    public void removePortals(ResourceKey<Level> dimension, Collection<BlockPos> positions) {
+        Long2ObjectMap<PortalRecord> dimensionPortals = portals.get(dimension);
+        if (dimensionPortals == null) return;
+
+        boolean changed = false;
+        for (BlockPos pos : positions) {
+            PortalRecord portal = dimensionPortals.remove(pos.asLong());
+            if (portal != null) {
+                unlink(portal);
+                portalIndexes.get(dimension).remove(portal.getBottomLeft());
+                frameIndexes.get(dimension).remove(portal);
+                Diagnostics.REGISTRY.log("Unregistered portal {}", portal);
+                Metrics.PORTALS_REMOVED.increment();
+                changed = true;
             }
         }
+        if (changed) setDirty();
+    }
 
-        for (BlockPos posToRemove : toRemove) {
-            level.setBlock(posToRemove, Blocks.AIR.defaultBlockState(), 3);
-        }
+    /**
+     * Nearest registered portal within maxDistance blocks (horizontally) of the center, or null.
+     * Entries are not validated against the world, callers should check the blocks are still there.
+     */
+    public PortalRecord findNearestPortal(ResourceKey<Level> dimension, BlockPos center, int maxDistance, boolean unlinkedOnly) {
+        PortalIndex index = portalIndexes.get(dimension);
+        Long2ObjectMap<PortalRecord> dimensionPortals = portals.get(dimension);
+        if (index == null || dimensionPortals == null) return null;
+
+        BlockPos pos = index.findNearest(center, maxDistance,
+                packed -> !unlinkedOnly || dimensionPortals.get(packed).getLink() == null);
+        return pos != null ? dimensionPortals.get(pos.asLong()) : null;
+    }
 
-        removePortal(level.dimension());
-        ElysianIslesMod.LOGGER.info("Deactivated old portal at: {}", oldPos);
+    /**
+     * Nearest psionic portal block within the square of the given radius around the center, or null.
+     * Goes through the PoiManager, which tracks portal blocks per chunk section, the way vanilla finds nether portals.
+     */
+    public static BlockPos findNearestPortalBlock(ServerLevel level, BlockPos center, int radius) {
+        PoiManager poiManager = level.getPoiManager();
+        poiManager.ensureLoadedAndValid(level, center, radius);
+        return poiManager.getInSquare(holder -> holder.is(ModPoiTypes.PSIONIC_PORTAL.getKey()), center, radius, PoiManager.Occupancy.ANY)
+                .map(PoiRecord::getPos)
+                .min(Comparator.comparingDouble(pos -> pos.distSqr(center)))
+                .orElse(null);
     }
-}
\ No newline at end of file
+}
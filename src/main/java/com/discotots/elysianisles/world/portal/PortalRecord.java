@@ -0,0 +1,88 @@
+package com.discotots.elysianisles.world.portal;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+import java.util.List;
+
+/**
+ * One registered portal: where it is, its shape, and the portal it is paired with in the other dimension.
+ * A portal is identified by its dimension and bottom-left portal block. Links are always kept in both
+ * directions by PortalManager.
+ */
+public class PortalRecord {
+    private final ResourceKey<Level> dimension;
+    private final BlockPos bottomLeft;
+    private Direction.Axis axis;
+    private int width;
+    private int height;
+    private PortalRecord link;
+
+    PortalRecord(ResourceKey<Level> dimension, BlockPos bottomLeft, Direction.Axis axis, int width, int height) {
+        this.dimension = dimension;
+        this.bottomLeft = bottomLeft.immutable();
+        this.axis = axis;
+        this.width = width;
+        this.height = height;
+    }
+
+    void setShape(Direction.Axis axis, int width, int height) {
+        this.axis = axis;
+        this.width = width;
+        this.height = height;
+    }
+
+    void setLink(PortalRecord link) {
+        this.link = link;
+    }
+
+    public ResourceKey<Level> getDimension() {
+        return this.dimension;
+    }
+
+    public BlockPos getBottomLeft() {
+        return this.bottomLeft;
+    }
+
+    public Direction.Axis getAxis() {
+        return this.axis;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Direction the portal's width runs in from the bottom-left block, the same one PsionicPortalShape uses.
+     */
+    public Direction getRightDirection() {
+        return this.axis == Direction.Axis.X ? Direction.EAST : Direction.SOUTH;
+    }
+
+    /**
+     * Every portal block position of the interior, empty while the shape is unknown.
+     */
+    public Iterable<BlockPos> getInteriorPositions() {
+        if (this.width <= 0 || this.height <= 0) return List.of();
+        return BlockPos.betweenClosed(this.bottomLeft,
+                this.bottomLeft.relative(Direction.UP, this.height - 1).relative(getRightDirection(), this.width - 1));
+    }
+
+    /**
+     * The paired portal, or null while this portal has not been travelled through yet.
+     */
+    public PortalRecord getLink() {
+        return this.link;
+    }
+
+    @Override
+    public String toString() {
+        return this.dimension.location() + " " + this.bottomLeft.toShortString() + " (" + this.width + "x" + this.height + ")";
+    }
+}
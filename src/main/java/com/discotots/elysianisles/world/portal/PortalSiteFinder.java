@@ -0,0 +1,175 @@
+package com.discotots.elysianisles.world.portal;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.material.Fluids;
+
+/**
+ * Picks where PortalTeleporter builds a new portal.
+ * Ground heights come from the chunk heightmaps, and the space the portal needs is checked a chunk section at a
+ * time: a section that is only air, or whose palette holds nothing but air and water, passes without reading a
+ * single block. Heights and section results are cached for the whole search, and only chunks that are already
+ * loaded are looked at, so a search never stalls on chunk loading.
+ */
+public class PortalSiteFinder {
+    private static final int SEARCH_RADIUS = 128;
+    private static final int RING_STEP = 4;
+    private static final int ANGLES = 8;
+    private static final int UNLOADED = Integer.MIN_VALUE;
+
+    private static final byte SECTION_CLEAR = 1;
+    private static final byte SECTION_MIXED = 2;
+
+    private final ServerLevel level;
+    private final int width;
+    private final int height;
+    private final Direction along;
+    private final Direction across;
+
+    private final Long2IntOpenHashMap groundCache = new Long2IntOpenHashMap();
+    private final Long2ByteOpenHashMap sectionCache = new Long2ByteOpenHashMap();
+    private int blockReads;
+
+    public PortalSiteFinder(ServerLevel level, Direction.Axis axis, int width, int height) {
+        this.level = level;
+        this.width = width;
+        this.height = height;
+        // Same orientation PortalTeleporter.createPortal builds in
+        this.along = axis == Direction.Axis.X ? Direction.EAST : Direction.NORTH;
+        this.across = this.along.getClockWise();
+        this.groundCache.defaultReturnValue(UNLOADED - 1);
+    }
+
+    /**
+     * Block states read so far, heightmap and palette checks do not count.
+     */
+    public int getBlockReads() {
+        return this.blockReads;
+    }
+
+    /**
+     * Ground block to build the portal on, or null when no loaded spot within the search radius fits.
+     * Candidates are tried in rings around the start; within the first ring that has a fitting spot,
+     * the one with the flattest ground under the platform wins.
+     */
+    public BlockPos find(BlockPos start) {
+        BlockPos best = null;
+        int bestScore = Integer.MAX_VALUE;
+
+        for (int radius = 0; radius < SEARCH_RADIUS; radius = radius == 0 ? 1 : radius + RING_STEP) {
+            for (int angle = 0; angle < (radius == 0 ? 1 : ANGLES); angle++) {
+                double radians = Math.toRadians(angle * 360.0 / ANGLES);
+                int x = start.getX() + (int) (radius * Math.cos(radians));
+                int z = start.getZ() + (int) (radius * Math.sin(radians));
+
+                int score = evaluate(x, z);
+                if (score >= 0 && score < bestScore) {
+                    bestScore = score;
+                    best = new BlockPos(x, groundAt(x, z), z);
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Unevenness of the ground under the platform, or -1 when the portal does not fit here.
+     */
+    private int evaluate(int x, int z) {
+        int ground = groundAt(x, z);
+        if (ground == UNLOADED || ground < this.level.getMinBuildHeight() + 10) return -1;
+        if (ground + this.height + 2 >= this.level.getMaxBuildHeight()) return -1;
+
+        this.blockReads++;
+        BlockState groundState = this.level.getBlockState(new BlockPos(x, ground, z));
+        if (groundState.isAir() || !groundState.getFluidState().isEmpty()) return -1;
+
+        // Heightmaps first: any column of the frame area reaching into the portal's space rules the spot out
+        int offset = this.width / 2;
+        int score = 0;
+        for (int step = -2; step <= this.width + 1; step++) {
+            for (int side = -1; side <= 1; side++) {
+                int columnX = x + this.along.getStepX() * (step - offset) + this.across.getStepX() * side;
+                int columnZ = z + this.along.getStepZ() * (step - offset) + this.across.getStepZ() * side;
+                int columnGround = groundAt(columnX, columnZ);
+                if (columnGround == UNLOADED) return -1;
+                if (step >= -1 && step <= this.width && columnGround > ground) return -1;
+                score += Math.abs(columnGround - ground);
+            }
+        }
+
+        return hasSpace(x, ground, z, offset) ? score : -1;
+    }
+
+    /**
+     * Checks the box the frame and portal occupy above the ground, skipping every section that is clear as a whole.
+     */
+    private boolean hasSpace(int x, int ground, int z, int offset) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int step = -1; step <= this.width; step++) {
+            for (int side = -1; side <= 1; side++) {
+                int columnX = x + this.along.getStepX() * (step - offset) + this.across.getStepX() * side;
+                int columnZ = z + this.along.getStepZ() * (step - offset) + this.across.getStepZ() * side;
+                LevelChunk chunk = this.level.getChunkSource().getChunkNow(
+                        SectionPos.blockToSectionCoord(columnX), SectionPos.blockToSectionCoord(columnZ));
+                if (chunk == null) return false;
+
+                for (int y = ground + 1; y <= ground + this.height + 2; y++) {
+                    if (isSectionClear(chunk, y)) {
+                        // Jump to the top of the section
+                        y = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(y)) + 15;
+                        continue;
+                    }
+                    this.blockReads++;
+                    if (!isClear(chunk.getBlockState(pos.set(columnX, y, columnZ)))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isSectionClear(LevelChunk chunk, int y) {
+        int sectionY = SectionPos.blockToSectionCoord(y);
+        long key = SectionPos.asLong(chunk.getPos().x, sectionY, chunk.getPos().z);
+        byte cached = this.sectionCache.get(key);
+        if (cached != 0) return cached == SECTION_CLEAR;
+
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+        boolean clear = section.hasOnlyAir() || !section.maybeHas(state -> !isClear(state));
+        this.sectionCache.put(key, clear ? SECTION_CLEAR : SECTION_MIXED);
+        return clear;
+    }
+
+    private static boolean isClear(BlockState state) {
+        // Only air and water may be built over, same as before
+        return state.isAir() || state.getFluidState().is(Fluids.WATER);
+    }
+
+    /**
+     * Y of the top solid (non-leaf) block of a column, or UNLOADED when its chunk is not loaded.
+     */
+    private int groundAt(int x, int z) {
+        long key = ChunkPos.asLong(x, z);
+        int cached = this.groundCache.get(key);
+        if (cached != UNLOADED - 1) return cached;
+
+        LevelChunk chunk = this.level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+        int ground = chunk != null ? chunk.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x & 15, z & 15) : UNLOADED;
+        this.groundCache.put(key, ground);
+        return ground;
+    }
+}
@@ -1,20 +1,27 @@
 package com.discotots.elysianisles.world.portal;
 
 import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.block.PsionicPortalShape;
+import com.discotots.elysianisles.debug.CountingBlockGetter;
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.debug.Metrics;
 import com.discotots.elysianisles.init.ModBlocks;
 import com.discotots.elysianisles.init.ModDimensions; // <-- ADD THIS LINE
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.block.state.properties.BlockStateProperties;
-import net.minecraft.world.level.levelgen.Heightmap;
 import net.minecraftforge.common.util.ITeleporter;
+
+import java.util.List;
 import java.util.function.Function;
 
 public class PortalTeleporter implements ITeleporter {
@@ -22,9 +29,14 @@ public class PortalTeleporter implements ITeleporter {
     private final Direction.Axis axis;
     private final int width;
     private final int height;
+    private final PortalRecord source; // The portal being travelled through
+    private BlockPos destination; // Resolved on the first placement, shared by every entity in the batch
+    private CountingBlockGetter blocks; // Every block state read while resolving the destination goes through here
+    private int siteReads; // Block states PortalSiteFinder read, it reads chunk sections directly
 
-    public PortalTeleporter(ServerLevel level, Direction.Axis axis, int width, int height) {
+    public PortalTeleporter(ServerLevel level, PortalRecord source, Direction.Axis axis, int width, int height) {
         this.level = level;
+        this.source = source;
         this.axis = axis;
         this.width = width;
         this.height = height;
@@ -33,95 +45,125 @@ public class PortalTeleporter implements ITeleporter {
     @Override
     public Entity placeEntity(Entity entity, ServerLevel currentWorld, ServerLevel destWorld, float yaw, Function<Boolean, Entity> repositionEntity) {
         Entity repositionedEntity = repositionEntity.apply(false);
-        BlockPos destinationPos = this.findOrCreatePortal(repositionedEntity);
+        if (repositionedEntity == null) {
+            return null;
+        }
+
+        // One teleporter carries a whole batch, only the first entity resolves the destination portal
+        if (this.destination == null) {
+            this.destination = this.findOrCreatePortal(repositionedEntity);
+
+            // Play teleportation sound
+            destWorld.playSound(null, this.destination, SoundEvents.PORTAL_TRAVEL, SoundSource.PLAYERS, 0.5F, 1.0F);
+        }
 
         // Teleport to the center of the portal entrance
         repositionedEntity.teleportTo(
-                destinationPos.getX() + 0.5,
-                destinationPos.getY() + 1.0, // Place player 1 block above the bottom
-                destinationPos.getZ() + 0.5
+                this.destination.getX() + 0.5,
+                this.destination.getY() + 1.0, // Place player 1 block above the bottom
+                this.destination.getZ() + 0.5
         );
 
-        // Play teleportation sound
-        destWorld.playSound(null, destinationPos, SoundEvents.PORTAL_TRAVEL, SoundSource.PLAYERS, 0.5F, 1.0F);
-
-        ElysianIslesMod.LOGGER.info("Placed entity {} at destination: {}",
-                repositionedEntity.getName().getString(), destinationPos);
-
         return repositionedEntity;
     }
 
     private BlockPos findOrCreatePortal(Entity entity) {
+        long start = System.nanoTime();
+        this.blocks = new CountingBlockGetter(this.level);
+        this.siteReads = 0;
+        BlockPos target = this.resolvePortal(entity);
+        Metrics.PORTAL_SEARCH.recordSince(start);
+        Metrics.PORTAL_SEARCH_BLOCK_READS.record(this.blocks.getReads() + this.siteReads);
+        return target;
+    }
+
+    private BlockPos resolvePortal(Entity entity) {
         PortalManager portalManager = PortalManager.get(this.level);
 
-        // --- FIXED: Determine the correct center point for our search ---
-        BlockPos searchCenter;
-        if (this.level.dimension() == ModDimensions.ELYSIAN_LEVEL_KEY) {
-            // If the destination is the sky world, always search around the island's center.
-            searchCenter = new BlockPos(8, 90, -5);
-        } else {
-            // Otherwise, search near the entity's coordinates.
-            searchCenter = entity.blockPosition();
+        // A paired portal is used directly, no search needed
+        PortalRecord linked = this.source != null ? this.source.getLink() : null;
+        if (linked != null && linked.getDimension() == this.level.dimension()) {
+            if (this.blocks.getBlockState(linked.getBottomLeft()).is(ModBlocks.PSIONIC_PORTAL.get())) {
+                return linked.getBottomLeft();
+            }
+            Diagnostics.REGISTRY.log("Linked portal {} no longer exists, dropping it", linked);
+            portalManager.removePortals(this.level.dimension(), List.of(linked.getBottomLeft()));
         }
 
-        ElysianIslesMod.LOGGER.info("Searching for existing portal in {} around {}",
+        BlockPos searchCenter = getSearchCenter(this.level, entity.blockPosition());
+
+        Diagnostics.TRAVEL.log("Searching for an unpaired portal in {} around {}",
                 this.level.dimension().location(), searchCenter);
 
-        // --- FIXED: Prioritize searching for ANY existing portal first ---
-        BlockPos foundPortal = searchForExistingPortal(searchCenter);
-        if (foundPortal != null) {
-            ElysianIslesMod.LOGGER.info("Found an existing portal at {}. Using it.", foundPortal);
-            // Update the manager so we find it faster next time.
-            portalManager.setPortalPos(this.level.dimension(), foundPortal);
-            return foundPortal;
+        PortalRecord target = searchForExistingPortal(searchCenter);
+        if (target != null) {
+            Diagnostics.TRAVEL.log("Found an existing portal at {}. Using it.", target.getBottomLeft());
+        } else {
+            // --- If no portal is found after a wide search, THEN create a new one ---
+            Diagnostics.TRAVEL.log("No existing portal found. Creating a new one.");
+            BlockPos safePos = this.findSafePortalLocation(searchCenter);
+            target = this.createPortal(safePos);
+        }
+
+        // Pair the portals so the next trip either way skips the search
+        if (this.source != null) {
+            portalManager.link(this.source, target);
         }
+        return target.getBottomLeft();
+    }
 
-        // --- If no portal is found after a wide search, THEN create a new one ---
-        ElysianIslesMod.LOGGER.info("No existing portal found. Creating a new one.");
-        BlockPos safePos = this.findSafePortalLocation(searchCenter);
-        return this.createPortal(safePos);
+    /**
+     * Where the search for a destination portal in the given level starts
+     */
+    public static BlockPos getSearchCenter(ServerLevel level, BlockPos entityPos) {
+        if (level.dimension() == ModDimensions.ELYSIAN_LEVEL_KEY) {
+            // If the destination is the sky world, always search around the island's center.
+            if (level.getChunkSource().getGenerator() instanceof IslandChunkGenerator generator) {
+                return new BlockPos(generator.getIslandCenterX(), 90, generator.getIslandCenterZ());
+            }
+            return new BlockPos(8, 90, -5);
+        }
+        // Otherwise, search near the entity's coordinates.
+        return entityPos;
     }
 
     /**
-     * Search for existing portal blocks in a large area around the given position
+     * Find the nearest unpaired portal around the given position, through the portal registry and then the PoiManager
      */
-    private BlockPos searchForExistingPortal(BlockPos center) {
+    private PortalRecord searchForExistingPortal(BlockPos center) {
         int searchRadius = 128;
+        PortalManager portalManager = PortalManager.get(this.level);
+
+        PortalRecord candidate;
+        while ((candidate = portalManager.findNearestPortal(this.level.dimension(), center, searchRadius, true)) != null) {
+            // The registry can go stale when portal blocks disappear some other way, so confirm it is still there
+            if (isStillStanding(candidate, portalManager)) {
+                Diagnostics.TRAVEL.log("Found valid portal structure at {}", candidate.getBottomLeft());
+                return candidate;
+            }
 
-        ElysianIslesMod.LOGGER.info("Searching for existing portals in {}x{} area around {}",
-                searchRadius * 2, searchRadius * 2, center);
-
-        // Search in expanding rings
-        for (int radius = 0; radius <= searchRadius; radius += 16) {
-            for (int x = center.getX() - radius; x <= center.getX() + radius; x += 4) {
-                for (int z = center.getZ() - radius; z <= center.getZ() + radius; z += 4) {
-                    // Only check the perimeter of the current ring to avoid duplicate checks
-                    if (radius > 0 && Math.abs(x - center.getX()) < radius - 16 && Math.abs(z - center.getZ()) < radius - 16) {
-                        continue;
-                    }
-
-                    // Check from build height down to min height
-                    for (int y = this.level.getMaxBuildHeight() - 1; y >= this.level.getMinBuildHeight(); y--) {
-                        BlockPos checkPos = new BlockPos(x, y, z);
-
-                        if (this.level.isLoaded(checkPos) &&
-                                this.level.getBlockState(checkPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
-
-                            ElysianIslesMod.LOGGER.info("Found portal block at {}, validating structure", checkPos);
-
-                            // Find the bottom-left of this portal structure
-                            BlockPos portalBottom = findPortalBottomLeft(checkPos);
-                            if (portalBottom != null && isValidPortalAt(portalBottom)) {
-                                ElysianIslesMod.LOGGER.info("Found valid portal structure at {}", portalBottom);
-                                return portalBottom;
-                            }
-                        }
-                    }
+            Diagnostics.REGISTRY.log("Registered portal {} no longer exists, dropping it", candidate);
+            portalManager.removePortals(this.level.dimension(), List.of(candidate.getBottomLeft()));
+        }
+
+        // Portals the registry does not know about are still tracked as points of interest
+        BlockPos portalBlock = PortalManager.findNearestPortalBlock(this.level, center, searchRadius);
+        if (portalBlock != null) {
+            BlockPos portalBottom = findPortalBottomLeft(portalBlock);
+            if (portalBottom != null && portalManager.getPortal(this.level.dimension(), portalBottom) == null) {
+                Direction.Axis portalAxis = this.blocks.getBlockState(portalBottom).getValue(BlockStateProperties.HORIZONTAL_AXIS);
+                PsionicPortalShape shape = new PsionicPortalShape(this.blocks, portalBottom, portalAxis);
+                if (shape.isValid()) {
+                    Diagnostics.TRAVEL.log("Found unregistered portal structure at {}", portalBottom);
+                    return portalManager.registerPortal(this.level.dimension(), shape.getBottomLeft(),
+                            shape.getAxis(), shape.getWidth(), shape.getHeight());
                 }
             }
         }
 
-        ElysianIslesMod.LOGGER.info("No existing portals found in search area");
+        if (Diagnostics.TRAVEL.isEnabled()) {
+            Diagnostics.TRAVEL.log("No existing portals found within {} blocks of {}", searchRadius, center);
+        }
         return null;
     }
 
@@ -129,7 +171,7 @@ public class PortalTeleporter implements ITeleporter {
      * Find the bottom-left corner of a portal structure given any portal block position
      */
     private BlockPos findPortalBottomLeft(BlockPos portalBlock) {
-        BlockState state = this.level.getBlockState(portalBlock);
+        BlockState state = this.blocks.getBlockState(portalBlock);
         if (!state.is(ModBlocks.PSIONIC_PORTAL.get())) {
             return null;
         }
@@ -141,12 +183,12 @@ public class PortalTeleporter implements ITeleporter {
         // Move to the bottom
         BlockPos.MutableBlockPos pos = portalBlock.mutable();
         while (pos.getY() > this.level.getMinBuildHeight() &&
-                this.level.getBlockState(pos.below()).is(ModBlocks.PSIONIC_PORTAL.get())) {
+                this.blocks.getBlockState(pos.below()).is(ModBlocks.PSIONIC_PORTAL.get())) {
             pos.move(Direction.DOWN);
         }
 
         // Move to the left edge
-        while (this.level.getBlockState(pos.relative(leftDir)).is(ModBlocks.PSIONIC_PORTAL.get())) {
+        while (this.blocks.getBlockState(pos.relative(leftDir)).is(ModBlocks.PSIONIC_PORTAL.get())) {
             pos.move(leftDir);
         }
 
@@ -154,141 +196,83 @@ public class PortalTeleporter implements ITeleporter {
     }
 
     /**
-     * Check if there's a valid portal structure at the given position
+     * Check a registered portal against its own recorded shape, whatever axis the portal being travelled through has.
+     * Entries from before shapes were recorded are detected again and get their shape filled in.
      */
-    private boolean isValidPortalAt(BlockPos pos) {
-        // Check if there are portal blocks in the expected area for this portal size
-        Direction frameDir = this.axis == Direction.Axis.X ? Direction.EAST : Direction.NORTH;
-
-        int foundWidth = 0;
-        int foundHeight = 0;
-
-        // Count width
-        for (int w = 0; w < 21; w++) { // Max portal width
-            BlockPos checkPos = pos.relative(frameDir, w);
-            if (this.level.getBlockState(checkPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                foundWidth++;
-            } else {
-                break;
+    private boolean isStillStanding(PortalRecord candidate, PortalManager portalManager) {
+        if (candidate.getWidth() <= 0 || candidate.getHeight() <= 0) {
+            BlockState state = this.blocks.getBlockState(candidate.getBottomLeft());
+            if (!state.is(ModBlocks.PSIONIC_PORTAL.get())) {
+                return false;
             }
+            PsionicPortalShape shape = new PsionicPortalShape(this.blocks, candidate.getBottomLeft(),
+                    state.getValue(BlockStateProperties.HORIZONTAL_AXIS));
+            if (!shape.isValid() || !shape.getBottomLeft().equals(candidate.getBottomLeft())) {
+                return false;
+            }
+            portalManager.registerPortal(this.level.dimension(), shape.getBottomLeft(),
+                    shape.getAxis(), shape.getWidth(), shape.getHeight());
+            return true;
         }
 
-        // Count height
-        for (int h = 0; h < 21; h++) { // Max portal height
-            BlockPos checkPos = pos.above(h);
-            if (this.level.getBlockState(checkPos).is(ModBlocks.PSIONIC_PORTAL.get())) {
-                foundHeight++;
-            } else {
-                break;
+        for (BlockPos pos : candidate.getInteriorPositions()) {
+            BlockState state = this.blocks.getBlockState(pos);
+            if (!state.is(ModBlocks.PSIONIC_PORTAL.get())
+                    || state.getValue(BlockStateProperties.HORIZONTAL_AXIS) != candidate.getAxis()) {
+                Diagnostics.TRAVEL.log("Portal {} is missing its portal block at {}", candidate, pos);
+                return false;
             }
         }
-
-        boolean valid = foundWidth >= 2 && foundHeight >= 3; // Minimum portal size
-        ElysianIslesMod.LOGGER.info("Portal validation at {}: {}x{}, valid: {}",
-                pos, foundWidth, foundHeight, valid);
-
-        return valid;
+        return true;
     }
 
     private BlockPos findSafePortalLocation(BlockPos startPos) {
         boolean isOverworld = this.level.dimension() == Level.OVERWORLD;
-        int searchRadius = 128;
 
-        // Try the starting position first
-        BlockPos testPos = findSuitableGroundLevel(startPos, isOverworld);
-        if (testPos != null && hasEnoughSpace(testPos)) {
-            return testPos;
-        }
-
-        // Spiral search outwards
-        for (int r = 1; r < searchRadius; r += 4) {
-            for (int angle = 0; angle < 360; angle += 45) {
-                double radians = Math.toRadians(angle);
-                int x = startPos.getX() + (int) (r * Math.cos(radians));
-                int z = startPos.getZ() + (int) (r * Math.sin(radians));
-
-                BlockPos candidatePos = new BlockPos(x, startPos.getY(), z);
-                testPos = findSuitableGroundLevel(candidatePos, isOverworld);
-
-                if (testPos != null && hasEnoughSpace(testPos)) {
-                    ElysianIslesMod.LOGGER.info("Found safe portal location at: {}", testPos);
-                    return testPos;
+        BlockPos site = findSite(startPos);
+        if (site == null) {
+            // The site finder only looks at loaded chunks. When the destination did not finish loading in time,
+            // load the chunks around the search center here and look again before building in mid-air
+            ElysianIslesMod.LOGGER.warn("No loaded portal site around {}, loading its chunks", startPos);
+            ChunkPos center = new ChunkPos(startPos);
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    this.level.getChunk(center.x + x, center.z + z);
                 }
             }
+            site = findSite(startPos);
+        }
+        if (site != null) {
+            Diagnostics.TRAVEL.log("Found safe portal location at: {}", site);
+            return site;
         }
 
-        // Fallback position
+        // Fallback position, nowhere around the search center fits a portal
         BlockPos fallback = new BlockPos(startPos.getX(), isOverworld ? 80 : 90, startPos.getZ());
         ElysianIslesMod.LOGGER.warn("Using fallback portal location: {}", fallback);
         return fallback;
     }
 
-    private BlockPos findSuitableGroundLevel(BlockPos pos, boolean isOverworld) {
-        if (isOverworld) {
-            // In overworld, find surface level, ignoring trees.
-            BlockPos groundPos = this.level.getHeightmapPos(Heightmap.Types.WORLD_SURFACE_WG, pos);
-
-            // Avoid building in water.
-            if (this.level.getFluidState(groundPos).isSource()) {
-                return null;
-            }
-
-            // Return the ground block itself. The portal platform will be built on it.
-            return groundPos;
-        } else {
-            // In sky dimension or other dimensions, find a solid surface
-            BlockPos.MutableBlockPos scanner = new BlockPos.MutableBlockPos(pos.getX(), 128, pos.getZ());
-
-            // Scan downward to find solid ground
-            while (scanner.getY() > this.level.getMinBuildHeight() + 10) {
-                if (!this.level.isEmptyBlock(scanner) &&
-                        this.level.getBlockState(scanner).isSolidRender(this.level, scanner)) {
-                    return scanner.immutable();
-                }
-                scanner.move(Direction.DOWN);
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Check if there's enough space to build a portal at the given position
-     */
-    private boolean hasEnoughSpace(BlockPos pos) {
-        // Check if we have enough clear space for the portal + frame
-        int totalWidth = this.width + 2; // Portal width + frame
-        int totalHeight = this.height + 2; // Portal height + frame
-
-        for (int x = -1; x < totalWidth - 1; x++) {
-            for (int y = 0; y < totalHeight; y++) {
-                for (int z = -1; z < 2; z++) { // Check depth too
-                    BlockPos checkPos = pos.offset(x, y, z);
-                    BlockState state = this.level.getBlockState(checkPos);
-
-                    // FIXED: Allow only air and water, reject solid blocks and other fluids.
-                    if (!state.isAir() && !state.getFluidState().is(net.minecraft.world.level.material.Fluids.WATER)) {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+    private BlockPos findSite(BlockPos startPos) {
+        PortalSiteFinder siteFinder = new PortalSiteFinder(this.level, this.axis, this.width, this.height);
+        BlockPos site = siteFinder.find(startPos);
+        this.siteReads += siteFinder.getBlockReads();
+        return site;
     }
 
-    private BlockPos createPortal(BlockPos pos) {
+    private PortalRecord createPortal(BlockPos pos) {
         PortalManager portalManager = PortalManager.get(this.level);
 
-        // Destroy any other portal in the dimension before creating a new one
-        portalManager.destroyOldPortal(this.level);
-
         Direction frameDir = this.axis == Direction.Axis.X ? Direction.EAST : Direction.NORTH;
         BlockPos bottomLeft = pos.above().relative(frameDir.getOpposite(), this.width / 2);
 
+        BlockBatch batch = new BlockBatch(this.level);
+
         // Create platform
         for (int x = -2; x <= this.width + 1; x++) {
             for (int z = -1; z <= 1; z++) {
                 BlockPos platformPos = bottomLeft.relative(frameDir, x).offset(0, -1, z);
-                this.level.setBlock(platformPos, Blocks.SMOOTH_STONE.defaultBlockState(), 3);
+                batch.set(platformPos, Blocks.SMOOTH_STONE.defaultBlockState());
             }
         }
 
@@ -297,7 +281,7 @@ public class PortalTeleporter implements ITeleporter {
             for (int h = -1; h <= this.height; h++) {
                 if (w == -1 || w == this.width || h == -1 || h == this.height) {
                     BlockPos framePos = bottomLeft.relative(frameDir, w).relative(Direction.UP, h);
-                    this.level.setBlock(framePos, Blocks.SMOOTH_STONE.defaultBlockState(), 3);
+                    batch.set(framePos, Blocks.SMOOTH_STONE.defaultBlockState());
                 }
             }
         }
@@ -309,17 +293,20 @@ public class PortalTeleporter implements ITeleporter {
         for (int w = 0; w < this.width; w++) {
             for (int h = 0; h < this.height; h++) {
                 BlockPos portalPos = bottomLeft.relative(frameDir, w).relative(Direction.UP, h);
-                this.level.setBlock(portalPos, portalState, 18);
+                batch.set(portalPos, portalState);
             }
         }
+        batch.apply();
 
-        // Register the new portal
-        portalManager.setPortalPos(this.level.dimension(), bottomLeft);
+        // Register the new portal under the same bottom-left corner the portal shape uses
+        BlockPos registeredPos = findPortalBottomLeft(bottomLeft);
+        PortalRecord portal = portalManager.registerPortal(this.level.dimension(), registeredPos, this.axis, this.width, this.height);
+        Metrics.PORTALS_CREATED.increment();
 
         // Play creation sound
         this.level.playSound(null, bottomLeft, SoundEvents.PORTAL_TRIGGER, SoundSource.BLOCKS, 1.0F, 1.0F);
 
-        ElysianIslesMod.LOGGER.info("Created new portal at: {}", bottomLeft);
-        return bottomLeft;
+        Diagnostics.TRAVEL.log("Created new portal at: {}", registeredPos);
+        return portal;
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.discotots.elysianisles.world.pregen;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerChunkCache;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Pregenerates every chunk the island can reach.
+ * Chunks are requested with a ticket each, a bounded number at a time, and the chunk system spreads their
+ * generation over its worker pool; IslandChunkGenerator.fillFromNoise runs there through its Executor.
+ * Finished chunks are released again and the level is saved in batches, so memory stays bounded.
+ */
+public class IslandPregenerator {
+    private static final TicketType<ChunkPos> PREGEN_TICKET =
+            TicketType.create(ElysianIslesMod.MOD_ID + "_pregen", Comparator.comparingLong(ChunkPos::toLong));
+
+    private static final int MAX_IN_FLIGHT = 32;
+    private static final int SAVE_INTERVAL = 256;
+    private static final long REPORT_INTERVAL_NANOS = 10_000_000_000L;
+
+    private static IslandPregenerator active;
+
+    private final ServerLevel level;
+    private final PregenProgress progress;
+    private final ChunkPos[] order;
+    private final IntArrayList inFlight = new IntArrayList();
+    private final int startIndex;
+    private final long startNanos = System.nanoTime();
+    private long lastReportNanos = this.startNanos;
+    private int nextIndex;
+    private int completed;
+    private int sinceSave;
+
+    private IslandPregenerator(ServerLevel level, PregenProgress progress, ChunkPos[] order, int startIndex) {
+        this.level = level;
+        this.progress = progress;
+        this.order = order;
+        this.startIndex = startIndex;
+        this.nextIndex = startIndex;
+    }
+
+    public static IslandPregenerator getActive() {
+        return active;
+    }
+
+    /**
+     * Starts (or resumes) pregeneration of the island in the given level.
+     * Returns null when the level does not use the island generator or a run is already active.
+     */
+    public static IslandPregenerator start(ServerLevel level, int radius) {
+        if (active != null || !(level.getChunkSource().getGenerator() instanceof IslandChunkGenerator generator)) {
+            return null;
+        }
+
+        PregenProgress progress = PregenProgress.get(level);
+        progress.start(radius);
+
+        ChunkPos[] order = buildOrder(generator.getIslandCenterX(), generator.getIslandCenterZ(), radius);
+        int startIndex = Math.min(progress.getResumeIndex(), order.length);
+        active = new IslandPregenerator(level, progress, order, startIndex);
+
+        ElysianIslesMod.LOGGER.info("Pregenerating {} chunks within {} blocks of the island, starting at {}",
+                order.length, radius, startIndex);
+        return active;
+    }
+
+    /**
+     * Stops the active run and pauses it, it will not resume on the next server start.
+     */
+    public static boolean stop() {
+        if (active == null) return false;
+        active.release();
+        active.progress.pause();
+        active = null;
+        return true;
+    }
+
+    /**
+     * Stops the active run for a server shutdown, leaving it marked to resume on the next start.
+     */
+    public static void halt() {
+        if (active == null) return;
+        active.release();
+        active = null;
+    }
+
+    public static void tickActive() {
+        if (active != null && !active.tick()) {
+            active = null;
+        }
+    }
+
+    /**
+     * Every chunk overlapping the radius, nearest to the island center first.
+     * The order is deterministic so a saved index is enough to resume.
+     */
+    private static ChunkPos[] buildOrder(int centerX, int centerZ, int radius) {
+        int centerChunkX = SectionPos.blockToSectionCoord(centerX);
+        int centerChunkZ = SectionPos.blockToSectionCoord(centerZ);
+        int chunkRadius = SectionPos.blockToSectionCoord(radius) + 1;
+        long radiusSq = (long) radius * radius;
+
+        List<ChunkPos> positions = new ArrayList<>();
+        for (int chunkX = centerChunkX - chunkRadius; chunkX <= centerChunkX + chunkRadius; chunkX++) {
+            for (int chunkZ = centerChunkZ - chunkRadius; chunkZ <= centerChunkZ + chunkRadius; chunkZ++) {
+                ChunkPos pos = new ChunkPos(chunkX, chunkZ);
+                long dx = Math.max(pos.getMinBlockX(), Math.min(centerX, pos.getMaxBlockX())) - centerX;
+                long dz = Math.max(pos.getMinBlockZ(), Math.min(centerZ, pos.getMaxBlockZ())) - centerZ;
+                if (dx * dx + dz * dz <= radiusSq) {
+                    positions.add(pos);
+                }
+            }
+        }
+
+        positions.sort(Comparator.comparingInt(pos ->
+                (pos.x - centerChunkX) * (pos.x - centerChunkX) + (pos.z - centerChunkZ) * (pos.z - centerChunkZ)));
+        return positions.toArray(new ChunkPos[0]);
+    }
+
+    private boolean tick() {
+        ServerChunkCache chunkSource = this.level.getChunkSource();
+
+        // Release chunks that reached FULL status
+        for (int i = this.inFlight.size() - 1; i >= 0; i--) {
+            ChunkPos pos = this.order[this.inFlight.getInt(i)];
+            if (chunkSource.getChunkNow(pos.x, pos.z) != null) {
+                chunkSource.removeRegionTicket(PREGEN_TICKET, pos, 0, pos);
+                this.inFlight.removeInt(i);
+                this.completed++;
+                this.sinceSave++;
+            }
+        }
+
+        // Keep the worker pool fed
+        while (this.inFlight.size() < MAX_IN_FLIGHT && this.nextIndex < this.order.length) {
+            ChunkPos pos = this.order[this.nextIndex];
+            chunkSource.addRegionTicket(PREGEN_TICKET, pos, 0, pos);
+            this.inFlight.add(this.nextIndex++);
+        }
+
+        if (this.sinceSave >= SAVE_INTERVAL) {
+            saveBatch();
+        }
+
+        long now = System.nanoTime();
+        if (now - this.lastReportNanos >= REPORT_INTERVAL_NANOS) {
+            this.lastReportNanos = now;
+            ElysianIslesMod.LOGGER.info("Elysian pregen: {}", describe());
+        }
+
+        if (this.nextIndex >= this.order.length && this.inFlight.isEmpty()) {
+            saveBatch();
+            this.progress.finish();
+            ElysianIslesMod.LOGGER.info("Elysian pregen finished: {}", describe());
+            return false;
+        }
+        return true;
+    }
+
+    private void saveBatch() {
+        this.sinceSave = 0;
+        this.level.getChunkSource().save(false);
+        this.progress.update(resumeIndex());
+    }
+
+    private void release() {
+        ServerChunkCache chunkSource = this.level.getChunkSource();
+        this.progress.update(resumeIndex());
+        for (int i = 0; i < this.inFlight.size(); i++) {
+            ChunkPos pos = this.order[this.inFlight.getInt(i)];
+            chunkSource.removeRegionTicket(PREGEN_TICKET, pos, 0, pos);
+        }
+        this.inFlight.clear();
+    }
+
+    /**
+     * Lowest index that is not known to be finished yet.
+     */
+    private int resumeIndex() {
+        int index = this.nextIndex;
+        for (int i = 0; i < this.inFlight.size(); i++) {
+            index = Math.min(index, this.inFlight.getInt(i));
+        }
+        return index;
+    }
+
+    public int getDone() {
+        return this.startIndex + this.completed;
+    }
+
+    public int getTotal() {
+        return this.order.length;
+    }
+
+    public double getChunksPerSecond() {
+        double seconds = (System.nanoTime() - this.startNanos) / 1.0E9;
+        return seconds > 0 ? this.completed / seconds : 0;
+    }
+
+    public String describe() {
+        return String.format("%d/%d chunks (%.1f%%), %.1f chunks/s",
+                getDone(), getTotal(), getTotal() == 0 ? 100.0 : getDone() * 100.0 / getTotal(), getChunksPerSecond());
+    }
+}
@@ -0,0 +1,80 @@
+package com.discotots.elysianisles.world.pregen;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+
+/**
+ * Persists how far the island pregeneration got, so an interrupted run picks up where it stopped after a restart.
+ */
+public class PregenProgress extends SavedData {
+    private static final String DATA_NAME = ElysianIslesMod.MOD_ID + "_pregen";
+
+    private boolean running;
+    private int radius;
+    private int resumeIndex;
+
+    public PregenProgress() {}
+
+    public PregenProgress(CompoundTag tag) {
+        this.running = tag.getBoolean("running");
+        this.radius = tag.getInt("radius");
+        this.resumeIndex = tag.getInt("resume_index");
+    }
+
+    /**
+     * Progress is stored with the level being pregenerated.
+     */
+    public static PregenProgress get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(PregenProgress::new, PregenProgress::new, DATA_NAME);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag compoundTag) {
+        compoundTag.putBoolean("running", this.running);
+        compoundTag.putInt("radius", this.radius);
+        compoundTag.putInt("resume_index", this.resumeIndex);
+        return compoundTag;
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public int getRadius() {
+        return this.radius;
+    }
+
+    public int getResumeIndex() {
+        return this.resumeIndex;
+    }
+
+    /**
+     * Marks a run as active. Progress is kept when the radius matches a previously paused run.
+     */
+    public void start(int radius) {
+        if (this.radius != radius) {
+            this.radius = radius;
+            this.resumeIndex = 0;
+        }
+        this.running = true;
+        setDirty();
+    }
+
+    public void pause() {
+        this.running = false;
+        setDirty();
+    }
+
+    public void update(int resumeIndex) {
+        this.resumeIndex = resumeIndex;
+        setDirty();
+    }
+
+    public void finish() {
+        this.running = false;
+        this.resumeIndex = 0;
+        setDirty();
+    }
+}
@@ -0,0 +1,166 @@
+package com.discotots.elysianisles.world.spawn;
+
+import com.discotots.elysianisles.ElysianIslesMod;
+import com.discotots.elysianisles.debug.Diagnostics;
+import com.discotots.elysianisles.world.chunk.IslandChunkGenerator;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.saveddata.SavedData;
+
+/**
+ * Safe spawn spots on the island, found once and kept with the sky level.
+ * The table is filled the first time a spawn is needed by searching around the island center, at most one
+ * spot per chunk. Spots are handed out in turn so players spawning together end up spread over several
+ * chunks, and each spot is re-checked with two block reads when it is used.
+ */
+public class SpawnPointTable extends SavedData {
+    private static final String DATA_NAME = ElysianIslesMod.MOD_ID + "_spawn_points";
+    private static final int MAX_SPOTS = 16;
+    // How long a search that found nothing is trusted before the island is searched again
+    private static final long EMPTY_RETRY_TICKS = 6000;
+    // Island terrain never drops more than a couple of blocks below the configured base height
+    private static final int SURFACE_DEPTH = 16;
+
+    private final LongArrayList spots = new LongArrayList();
+    private long center;
+    private int next;
+    private long emptyCenter;
+    private long retryEmptyAt = Long.MIN_VALUE;
+
+    public SpawnPointTable() {}
+
+    public SpawnPointTable(CompoundTag tag) {
+        this.center = tag.getLong("center");
+        for (long packed : tag.getLongArray("spots")) {
+            this.spots.add(packed);
+        }
+    }
+
+    /**
+     * The table is stored with the level it holds spots for.
+     */
+    public static SpawnPointTable get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(SpawnPointTable::new, SpawnPointTable::new, DATA_NAME);
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag compoundTag) {
+        compoundTag.putLong("center", this.center);
+        compoundTag.putLongArray("spots", this.spots.toLongArray());
+        return compoundTag;
+    }
+
+    /**
+     * Next safe spot around the island center, or null when the island has none.
+     * Spots that are no longer safe are dropped, the table is searched again once all of them are gone.
+     * A search that finds nothing is not repeated for the same center until EMPTY_RETRY_TICKS have passed.
+     */
+    public BlockPos nextSpawn(ServerLevel level, int centerX, int centerZ) {
+        long packedCenter = BlockPos.asLong(centerX, 0, centerZ);
+        if (this.center != packedCenter) {
+            // The island moved, e.g. its settings changed, so none of the old spots can be trusted
+            this.center = packedCenter;
+            this.spots.clear();
+            setDirty();
+        }
+
+        boolean rebuilt = false;
+        while (true) {
+            if (this.spots.isEmpty()) {
+                if (rebuilt || (this.emptyCenter == packedCenter && level.getGameTime() < this.retryEmptyAt)) {
+                    return null;
+                }
+                build(level, centerX, centerZ);
+                rebuilt = true;
+                if (this.spots.isEmpty()) {
+                    this.emptyCenter = packedCenter;
+                    this.retryEmptyAt = level.getGameTime() + EMPTY_RETRY_TICKS;
+                }
+            }
+
+            while (!this.spots.isEmpty()) {
+                this.next %= this.spots.size();
+                BlockPos spot = BlockPos.of(this.spots.getLong(this.next));
+                if (isStillSafe(level, spot)) {
+                    this.next++;
+                    return spot;
+                }
+
+                Diagnostics.SPAWN.log("Spawn spot {} is no longer safe, dropping it", spot);
+                this.spots.removeLong(this.next);
+                setDirty();
+            }
+        }
+    }
+
+    private void build(ServerLevel level, int centerX, int centerZ) {
+        LongSet usedChunks = new LongOpenHashSet();
+        int lowestY = lowestSpawnY(level);
+        addSpot(level, centerX, centerZ, lowestY, usedChunks);
+
+        for (int radius = 3; radius <= 50 && this.spots.size() < MAX_SPOTS; radius += 3) {
+            for (int angle = 0; angle < 360 && this.spots.size() < MAX_SPOTS; angle += 45) {
+                double radians = Math.toRadians(angle);
+                int x = centerX + (int) (radius * Math.cos(radians));
+                int z = centerZ + (int) (radius * Math.sin(radians));
+                addSpot(level, x, z, lowestY, usedChunks);
+            }
+        }
+
+        this.next = 0;
+        setDirty();
+        ElysianIslesMod.LOGGER.info("Found {} spawn spots around the island at ({}, {})", this.spots.size(), centerX, centerZ);
+    }
+
+    private void addSpot(ServerLevel level, int x, int z, int lowestY, LongSet usedChunks) {
+        long chunk = ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+        if (usedChunks.contains(chunk)) return;
+
+        BlockPos spot = findSafeSpotAt(level, x, z, lowestY);
+        if (spot != null) {
+            usedChunks.add(chunk);
+            this.spots.add(spot.asLong());
+        }
+    }
+
+    /**
+     * Lowest Y a spawn spot is looked for at, just under the island surface when the level uses the island generator.
+     */
+    private static int lowestSpawnY(ServerLevel level) {
+        if (level.getChunkSource().getGenerator() instanceof IslandChunkGenerator generator) {
+            return Math.max(level.getMinBuildHeight(), generator.getSettings().baseHeight() - SURFACE_DEPTH);
+        }
+        return level.getMinBuildHeight();
+    }
+
+    private static BlockPos findSafeSpotAt(ServerLevel level, int x, int z, int lowestY) {
+        int surfaceY = level.getHeight(Heightmap.Types.MOTION_BLOCKING, x, z);
+        BlockPos.MutableBlockPos testPos = new BlockPos.MutableBlockPos(x, surfaceY, z);
+
+        for (int y = testPos.getY() + 5; y > lowestY; y--) {
+            testPos.setY(y);
+            if (level.getBlockState(testPos).isAir() && level.getBlockState(testPos.above()).isAir()) {
+                if (level.getBlockState(testPos.below()).isSolidRender(level, testPos.below())) {
+                    return testPos.immutable();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cheap re-check of a stored spot: solid ground and room to stand.
+     */
+    private static boolean isStillSafe(ServerLevel level, BlockPos spot) {
+        BlockPos ground = spot.below();
+        return level.getBlockState(ground).isSolidRender(level, ground) && level.getBlockState(spot).isAir()
+                && level.getBlockState(spot.above()).isAir();
+    }
+}